@@ -0,0 +1,129 @@
+package com.example.camunda.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+
+/**
+ * Answers the Camunda REST endpoints used by the example with pre-serialized responses, so a benchmark
+ * measures the client (request serialization, HTTP, response deserialization) and not an engine.
+ * Request bodies are read and discarded.
+ */
+public class CannedCamundaServer implements AutoCloseable {
+
+    private static final String PROCESS_DEFINITION_KEY = "2251799813685249";
+    private static final String PROCESS_INSTANCE_KEY = "2251799813685251";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final byte[] createInstanceResponse;
+    private final byte[] userTaskSearchResponse;
+    private final byte[] processInstanceSearchResponse;
+
+    /**
+     * @param itemsPerPage number of items in every search response, to scale deserialization cost
+     */
+    public CannedCamundaServer(int itemsPerPage) throws IOException {
+        createInstanceResponse = ("{\"processDefinitionKey\":\"" + PROCESS_DEFINITION_KEY + "\","
+                + "\"processDefinitionId\":\"demoProcess\",\"processDefinitionVersion\":1,"
+                + "\"tenantId\":\"<default>\",\"variables\":{},"
+                + "\"processInstanceKey\":\"" + PROCESS_INSTANCE_KEY + "\"}").getBytes(StandardCharsets.UTF_8);
+        userTaskSearchResponse = page(itemsPerPage, CannedCamundaServer::userTask);
+        processInstanceSearchResponse = page(itemsPerPage, CannedCamundaServer::processInstance);
+
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.setExecutor(executor);
+        server.createContext("/v2/process-instances", this::handleProcessInstances);
+        server.createContext("/v2/user-tasks", this::handleUserTasks);
+        server.start();
+    }
+
+    public URI restAddress() {
+        return URI.create("http://" + server.getAddress().getHostString() + ':' + server.getAddress().getPort());
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    private void handleProcessInstances(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (path.equals("/v2/process-instances")) {
+            respond(exchange, 200, createInstanceResponse);
+        } else if (path.equals("/v2/process-instances/search")) {
+            respond(exchange, 200, processInstanceSearchResponse);
+        } else {
+            respond(exchange, 404, null);
+        }
+    }
+
+    private void handleUserTasks(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (path.equals("/v2/user-tasks/search")) {
+            respond(exchange, 200, userTaskSearchResponse);
+        } else if (path.endsWith("/assignment") || path.endsWith("/completion")) {
+            respond(exchange, 204, null);
+        } else {
+            respond(exchange, 404, null);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        try (exchange; InputStream request = exchange.getRequestBody()) {
+            request.transferTo(OutputStream.nullOutputStream());
+            if (body == null) {
+                exchange.sendResponseHeaders(status, -1);
+            } else {
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(status, body.length);
+                exchange.getResponseBody().write(body);
+            }
+        }
+    }
+
+    private static byte[] page(int items, IntFunction<String> item) {
+        StringBuilder json = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(item.apply(i));
+        }
+        json.append("],\"page\":{\"totalItems\":").append(items)
+                .append(",\"startCursor\":\"WzFd\",\"endCursor\":\"WzJd\",\"hasMoreTotalItems\":false}}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String userTask(int index) {
+        long key = 2251799813685300L + index;
+        return "{\"userTaskKey\":\"" + key + "\",\"elementId\":\"userTask_1\",\"name\":\"User task\","
+                + "\"state\":\"CREATED\",\"assignee\":null,\"elementInstanceKey\":\"" + (key - 1) + "\","
+                + "\"candidateGroups\":[],\"candidateUsers\":[],\"processDefinitionId\":\"demoProcess\","
+                + "\"processDefinitionKey\":\"" + PROCESS_DEFINITION_KEY + "\","
+                + "\"processInstanceKey\":\"" + PROCESS_INSTANCE_KEY + "\","
+                + "\"creationDate\":\"2025-01-01T00:00:00.000Z\",\"tenantId\":\"<default>\","
+                + "\"processDefinitionVersion\":1,\"customHeaders\":{},\"priority\":50}";
+    }
+
+    private static String processInstance(int index) {
+        long key = 2251799813685251L + index;
+        return "{\"processInstanceKey\":\"" + key + "\",\"processDefinitionId\":\"demoProcess\","
+                + "\"processDefinitionName\":\"Demo process\",\"processDefinitionVersion\":1,"
+                + "\"processDefinitionKey\":\"" + PROCESS_DEFINITION_KEY + "\","
+                + "\"startDate\":\"2025-01-01T00:00:00.000Z\",\"state\":\"ACTIVE\","
+                + "\"hasIncident\":false,\"tenantId\":\"<default>\"}";
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.camunda.benchmark;
+
+import io.camunda.client.CamundaClient;
+import io.camunda.client.api.response.AssignUserTaskResponse;
+import io.camunda.client.api.response.CompleteUserTaskResponse;
+import io.camunda.client.api.response.ProcessInstanceEvent;
+import io.camunda.client.api.search.response.ProcessInstance;
+import io.camunda.client.api.search.response.SearchResponse;
+import io.camunda.client.api.search.response.UserTask;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the client calls made by the orchestration flow, against {@link CannedCamundaServer}.
+ *
+ * <p>Run with {@code java -jar target/benchmarks.jar -prof gc} to also report allocation rate per call.
+ * {@code itemsPerPage} scales the size of search responses and therefore deserialization cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ClientHotPathBenchmark {
+
+    private static final long USER_TASK_KEY = 2251799813685300L;
+    private static final long PROCESS_INSTANCE_KEY = 2251799813685251L;
+
+    @Param({"1", "100"})
+    public int itemsPerPage;
+
+    private CannedCamundaServer server;
+    private CamundaClient client;
+    private Map<String, Object> variables;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new CannedCamundaServer(itemsPerPage);
+        client = CamundaClient.newClientBuilder()
+                .restAddress(server.restAddress())
+                .preferRestOverGrpc(true)
+                .build();
+        variables = Map.of("orderId", "order-4711", "amount", 99.5, "priority", 3);
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        server.close();
+    }
+
+    @Benchmark
+    public ProcessInstanceEvent createInstance() {
+        return client.newCreateInstanceCommand()
+                .bpmnProcessId("demoProcess")
+                .latestVersion()
+                .variables(variables)
+                .send()
+                .join();
+    }
+
+    @Benchmark
+    public SearchResponse<UserTask> searchUserTasks() {
+        return client.newUserTaskSearchRequest()
+                .filter(userTaskFilter -> userTaskFilter
+                        .processInstanceKey(PROCESS_INSTANCE_KEY)
+                        .elementId("userTask_1"))
+                .send()
+                .join();
+    }
+
+    @Benchmark
+    public AssignUserTaskResponse assignUserTask() {
+        return client.newAssignUserTaskCommand(USER_TASK_KEY)
+                .assignee("demo")
+                .send()
+                .join();
+    }
+
+    @Benchmark
+    public CompleteUserTaskResponse completeUserTask() {
+        return client.newCompleteUserTaskCommand(USER_TASK_KEY)
+                .send()
+                .join();
+    }
+
+    @Benchmark
+    public SearchResponse<ProcessInstance> searchProcessInstances() {
+        return client.newProcessInstanceSearchRequest()
+                .filter(processInstanceFilter -> processInstanceFilter.processInstanceKey(PROCESS_INSTANCE_KEY))
+                .send()
+                .join();
+    }
+}
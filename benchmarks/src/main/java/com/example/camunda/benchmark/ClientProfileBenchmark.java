@@ -0,0 +1,81 @@
+package com.example.camunda.benchmark;
+
+import com.example.camunda.client.CamundaClients;
+import com.example.camunda.deploy.DeploymentCache;
+import com.example.camunda.client.ClientProfile;
+import io.camunda.client.CamundaClient;
+import io.camunda.client.api.response.ProcessInstanceEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of creating a process instance from 16 concurrent callers through a shared client built by
+ * {@link CamundaClients}, for each {@link ClientProfile}.
+ *
+ * <p>The profiles differ in gRPC keep-alive and maximum message size, which REST ignores. So with
+ * {@code -Dcamunda.grpc=...} (and {@code -Dcamunda.rest=...} for the deployment) the benchmark runs over
+ * gRPC against that cluster. Without it, it runs over REST against the canned server, where only the
+ * request timeout differs and both profiles should measure the same.
+ *
+ * <p>Run with {@code java -jar target/benchmarks.jar ClientProfileBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(16)
+@Fork(1)
+public class ClientProfileBenchmark {
+
+    @Param({"LOW_LATENCY", "HIGH_THROUGHPUT"})
+    public ClientProfile profile;
+
+    private CannedCamundaServer server;
+    private CamundaClient client;
+
+    @Setup
+    public void setUp() throws IOException {
+        String grpcAddress = System.getProperty("camunda.grpc");
+        if (grpcAddress == null) {
+            server = new CannedCamundaServer(1);
+            client = CamundaClients.newClient(profile, server.restAddress());
+        } else {
+            URI restAddress = URI.create(System.getProperty("camunda.rest", "http://localhost:8080"));
+            client = CamundaClients.newClient(profile, restAddress, URI.create(grpcAddress));
+            new DeploymentCache(client, restAddress.toString()).deployFromClasspath("demoProcess.bpmn");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Benchmark
+    public ProcessInstanceEvent createInstance() {
+        return client.newCreateInstanceCommand()
+                .bpmnProcessId("demoProcess")
+                .latestVersion()
+                .send()
+                .join();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.camunda.benchmark;
+
+import com.example.camunda.client.CamundaClients;
+import com.example.camunda.client.ClientProfile;
+import com.example.camunda.client.Transport;
+import com.example.camunda.client.TransportRouting;
+import com.example.camunda.client.TransportRouting.Operation;
+import com.example.camunda.deploy.DeploymentCache;
+import io.camunda.client.CamundaClient;
+import io.camunda.client.api.response.ProcessInstanceEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of creating a process instance over REST versus gRPC, from 16 concurrent callers.
+ *
+ * <p>Unlike the other benchmarks this one needs a running cluster, as the stand-in server has no gRPC
+ * endpoint. Addresses default to a local cluster and can be set with {@code -Dcamunda.rest=...} and
+ * {@code -Dcamunda.grpc=...}: {@code java -Dcamunda.rest=... -jar target/benchmarks.jar TransportBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(16)
+@Fork(1)
+public class TransportBenchmark {
+
+    @Param({"REST", "GRPC"})
+    public Transport transport;
+
+    private CamundaClient client;
+    private TransportRouting routing;
+    private Map<String, Object> variables;
+
+    @Setup
+    public void setUp() {
+        URI restAddress = URI.create(System.getProperty("camunda.rest", "http://localhost:8080"));
+        URI grpcAddress = URI.create(System.getProperty("camunda.grpc", "http://localhost:26500"));
+        client = CamundaClients.newClient(ClientProfile.HIGH_THROUGHPUT, restAddress, grpcAddress);
+        routing = TransportRouting.restOnly().with(Operation.CREATE_INSTANCE, transport);
+        variables = Map.of("orderId", "order-4711", "amount", 99.5, "priority", 3);
+        new DeploymentCache(client, restAddress.toString()).deployFromClasspath("demoProcess.bpmn");
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public ProcessInstanceEvent createInstance() {
+        return routing.apply(Operation.CREATE_INSTANCE, client.newCreateInstanceCommand()
+                        .bpmnProcessId("demoProcess")
+                        .latestVersion()
+                        .variables(variables))
+                .send()
+                .join();
+    }
+}
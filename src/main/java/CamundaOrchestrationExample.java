@@ -1,82 +1,59 @@
+import com.example.camunda.await.Awaiter;
+import com.example.camunda.deploy.CachedDeployment;
+import com.example.camunda.deploy.DeploymentCache;
+import com.example.camunda.metrics.Step;
+import com.example.camunda.metrics.StepMetrics;
+import com.example.camunda.orchestration.OrchestrationFlow;
+import com.example.camunda.orchestration.OrchestrationResult;
+import com.example.camunda.orchestration.OrchestrationRunner;
 import io.camunda.client.CamundaClient;
-import io.camunda.client.api.response.DeploymentEvent;
-import io.camunda.client.api.response.ProcessInstanceEvent;
-import io.camunda.client.api.search.response.ProcessInstance;
-import io.camunda.client.api.search.response.SearchResponse;
-import io.camunda.client.api.search.response.UserTask;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
 
 public class CamundaOrchestrationExample {
 
     private static final Logger log = LoggerFactory.getLogger(CamundaOrchestrationExample.class);
-
+    private static final Duration TASK_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration COMPLETION_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration REPORT_INTERVAL = Duration.ofSeconds(10);
+    private static final Path DEPLOYMENT_CACHE = Path.of("target", "deployment-cache.properties");
+
+    /**
+     * Runs a single orchestration, or {@code <total> <concurrency>} orchestrations on virtual threads.
+     */
     public static void main (String[] args){
     URI REST = URI.create("http://localhost:8080");
 
-    try (CamundaClient client = CamundaClient.newClientBuilder()
+    try (StepMetrics metrics = new StepMetrics();
+         CamundaClient client = CamundaClient.newClientBuilder()
             .restAddress(REST)
             .build()) {
 
-        // Deploy a BPMN process
-        DeploymentEvent deploymentEvent = client.newDeployResourceCommand()
-                .addResourceFromClasspath("demoProcess.bpmn")
-                .send()
-                .join();
-        log.info("Deployment successful: {}", deploymentEvent.getKey());
-
-        // Start a process instance
-        ProcessInstanceEvent instance = client.newCreateInstanceCommand()
-                .bpmnProcessId("demoProcess")
-                .latestVersion()
-                .send()
-                .join();
-        log.info("Process instance started: {}", instance.getProcessInstanceKey());
-        long processInstanceKey = instance.getProcessInstanceKey();
-
-        Thread.sleep(5000); // Wait for the task to be created
-
-        // Query user tasks for this process instance
-        SearchResponse<UserTask> taskSearchQueryResult = client.newUserTaskSearchRequest()
-                .filter(userTaskFilter -> userTaskFilter.processInstanceKey(processInstanceKey))
-                .send()
-                .join();
-
-
-        if (!taskSearchQueryResult.items().isEmpty()){
-            UserTask task = taskSearchQueryResult.items().getFirst();
-            long userTaskKey = task.getUserTaskKey();
-            log.info("User task found: {}", userTaskKey);
-
-            // Assign the user task to a user
-            client.newAssignUserTaskCommand(userTaskKey)
-                    .assignee("demo")
-                    .send()
-                    .join();
-            log.info("User task assigned to 'demo': {}", userTaskKey);
-
-            // Complete the user task
-            client.newCompleteUserTaskCommand(userTaskKey)
-                    .send()
-                    .join();
-            log.info("User task completed: {}", userTaskKey);
-        } else {
-            log.warn("No user tasks found for process instance: {}", processInstanceKey);
-        }
-
-        Thread.sleep(5000);
-        SearchResponse<ProcessInstance> result = client.newProcessInstanceSearchRequest()
-                .filter(processInstanceFilter -> processInstanceFilter.processInstanceKey(processInstanceKey))
-                .send()
-                .join();
-        if (!result.items().isEmpty()) {
-            ProcessInstance processInstance = result.items().getFirst();
-            log.info("Process instance state: {}", processInstance.getState());
+        // Deploy a BPMN process unless this exact content is already deployed
+        long deployStart = System.nanoTime();
+        CachedDeployment deployment = new DeploymentCache(client, REST.toString(), DEPLOYMENT_CACHE)
+                .deployFromClasspath("demoProcess.bpmn");
+        metrics.recordSince(Step.DEPLOY, deployStart);
+        log.info("Deployment available: {}", deployment.processDefinitionKey());
+
+        OrchestrationFlow flow =
+                new OrchestrationFlow(client, Awaiter.withDefaults(), TASK_TIMEOUT, COMPLETION_TIMEOUT, metrics);
+
+        if (args.length >= 2) {
+            long total = Long.parseLong(args[0]);
+            int concurrency = Integer.parseInt(args[1]);
+            metrics.startReporting(REPORT_INTERVAL);
+            new OrchestrationRunner(flow, concurrency).run(total);
         } else {
-            log.warn("Process instance not found: {}", processInstanceKey);
+            OrchestrationResult result = flow.run();
+            log.info("Process instance {} finished user task {} with state: {}",
+                    result.processInstanceKey(), result.userTaskKey(), result.finalState());
         }
+        metrics.logSummary();
 
     } catch (Exception e) {
         log.error("Error occurred during Camunda orchestration", e);
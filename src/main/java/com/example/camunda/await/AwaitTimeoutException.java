@@ -0,0 +1,26 @@
+package com.example.camunda.await;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a condition polled by {@link Awaiter} did not hold before the deadline.
+ */
+public class AwaitTimeoutException extends RuntimeException {
+
+    private final Duration timeout;
+    private final int attempts;
+
+    public AwaitTimeoutException(String description, Duration timeout, int attempts) {
+        super("Timed out after " + timeout + " (" + attempts + " attempts) waiting for " + description);
+        this.timeout = timeout;
+        this.attempts = attempts;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.camunda.await;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Polls a probe until it yields a value or a deadline passes, backing off between attempts.
+ *
+ * <p>The blocking variant is cancelled by interrupting the waiting thread, the asynchronous
+ * variant by cancelling the returned future.
+ */
+public final class Awaiter {
+
+    private static final Backoff DEFAULT_BACKOFF =
+            Backoff.exponential(Duration.ofMillis(25), Duration.ofSeconds(1)).withMultiplier(1.5);
+
+    private final Backoff backoff;
+    private final Executor executor;
+
+    public Awaiter(Backoff backoff) {
+        this(backoff, ForkJoinPool.commonPool());
+    }
+
+    public Awaiter(Backoff backoff, Executor executor) {
+        this.backoff = backoff;
+        this.executor = executor;
+    }
+
+    public static Awaiter withDefaults() {
+        return new Awaiter(DEFAULT_BACKOFF);
+    }
+
+    /**
+     * Blocks until the probe returns a value.
+     *
+     * @throws AwaitTimeoutException if the probe returned nothing before the timeout
+     * @throws InterruptedException  if the waiting thread was interrupted
+     */
+    public <T> T await(String description, Supplier<Optional<T>> probe, Duration timeout)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        int attempt = 0;
+        while (true) {
+            Optional<T> value = probe.get();
+            attempt++;
+            if (value.isPresent()) {
+                return value.get();
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new AwaitTimeoutException(description, timeout, attempt);
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.min(backoff.delayNanos(attempt - 1), remaining));
+        }
+    }
+
+    /**
+     * Like {@link #await} but returns an empty optional instead of throwing on timeout.
+     */
+    public <T> Optional<T> tryAwait(String description, Supplier<Optional<T>> probe, Duration timeout)
+            throws InterruptedException {
+        try {
+            return Optional.of(await(description, probe, timeout));
+        } catch (AwaitTimeoutException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Polls an asynchronous probe without blocking a thread between attempts. The returned future
+     * fails with {@link AwaitTimeoutException} on timeout; cancelling it stops further polling.
+     */
+    public <T> CompletableFuture<T> awaitAsync(
+            String description, Supplier<? extends CompletionStage<Optional<T>>> probe, Duration timeout) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        attemptAsync(description, probe, timeout, deadline, 0, result);
+        return result;
+    }
+
+    private <T> void attemptAsync(
+            String description,
+            Supplier<? extends CompletionStage<Optional<T>>> probe,
+            Duration timeout,
+            long deadline,
+            int attempt,
+            CompletableFuture<T> result) {
+        if (result.isDone()) {
+            return;
+        }
+        CompletionStage<Optional<T>> stage;
+        try {
+            stage = probe.get();
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        stage.whenComplete((value, failure) -> {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+                return;
+            }
+            if (value.isPresent()) {
+                result.complete(value.get());
+                return;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                result.completeExceptionally(new AwaitTimeoutException(description, timeout, attempt + 1));
+                return;
+            }
+            long delay = Math.min(backoff.delayNanos(attempt), remaining);
+            CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS, executor)
+                    .execute(() -> attemptAsync(description, probe, timeout, deadline, attempt + 1, result));
+        });
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.camunda.await;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with multiplicative growth, an upper bound and random jitter.
+ * Instances are immutable and can be shared between threads.
+ */
+public final class Backoff {
+
+    private final Duration initialDelay;
+    private final Duration maxDelay;
+    private final double multiplier;
+    private final double jitter;
+
+    private Backoff(Duration initialDelay, Duration maxDelay, double multiplier, double jitter) {
+        if (initialDelay.isNegative() || initialDelay.isZero()) {
+            throw new IllegalArgumentException("initialDelay must be positive: " + initialDelay);
+        }
+        if (maxDelay.compareTo(initialDelay) < 0) {
+            throw new IllegalArgumentException("maxDelay must not be smaller than initialDelay: " + maxDelay);
+        }
+        if (multiplier < 1.0) {
+            throw new IllegalArgumentException("multiplier must be >= 1: " + multiplier);
+        }
+        if (jitter < 0.0 || jitter >= 1.0) {
+            throw new IllegalArgumentException("jitter must be in [0, 1): " + jitter);
+        }
+        this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+    }
+
+    public static Backoff exponential(Duration initialDelay, Duration maxDelay) {
+        return new Backoff(initialDelay, maxDelay, 2.0, 0.2);
+    }
+
+    public Backoff withMultiplier(double multiplier) {
+        return new Backoff(initialDelay, maxDelay, multiplier, jitter);
+    }
+
+    public Backoff withJitter(double jitter) {
+        return new Backoff(initialDelay, maxDelay, multiplier, jitter);
+    }
+
+    /**
+     * Returns the delay in nanoseconds before the given retry attempt, starting at attempt 0.
+     */
+    public long delayNanos(int attempt) {
+        double base = initialDelay.toNanos() * Math.pow(multiplier, Math.max(0, attempt));
+        double capped = Math.min(base, maxDelay.toNanos());
+        if (jitter == 0.0) {
+            return (long) capped;
+        }
+        double factor = 1.0 + ThreadLocalRandom.current().nextDouble(-jitter, jitter);
+        return Math.max(1L, (long) (capped * factor));
+    }
+
+    @Override
+    public String toString() {
+        return "Backoff{initialDelay=" + initialDelay + ", maxDelay=" + maxDelay
+                + ", multiplier=" + multiplier + ", jitter=" + jitter + '}';
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.camunda.batch;
+
+import io.camunda.client.CamundaClient;
+
+import java.lang.ref.Cleaner;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Creates process instances for a stream of variable payloads, keeping at most {@code window} create
+ * commands in flight over one shared client.
+ *
+ * <p>A window permit is held from sending a command until its result has been taken from the returned
+ * stream, so a slow consumer throttles the producer instead of letting results pile up. Close the
+ * returned stream to abandon a batch early: this stops the producer and closes the payload stream. A
+ * stream that is dropped without being closed, e.g. after {@code limit(n).toList()}, is only stopped as a
+ * best-effort fallback once the garbage collector notices it, so callers should not rely on that.
+ *
+ * <p>If the payload stream fails, the results of the commands already sent are still delivered before the
+ * failure is rethrown to the consumer.
+ */
+public class BatchInstanceCreator {
+
+    private static final Cleaner ABANDONED_BATCHES = Cleaner.create();
+
+    private final CamundaClient client;
+    private final String bpmnProcessId;
+    private final int window;
+
+    public BatchInstanceCreator(CamundaClient client, String bpmnProcessId, int window) {
+        if (window < 1) {
+            throw new IllegalArgumentException("window must be positive: " + window);
+        }
+        this.client = client;
+        this.bpmnProcessId = bpmnProcessId;
+        this.window = window;
+    }
+
+    public Stream<CreationResult> createAll(Stream<Map<String, Object>> payloads) {
+        Batch batch = new Batch(payloads.iterator());
+        Thread producer = Thread.ofVirtual().name("batch-create-" + bpmnProcessId).start(batch::produce);
+        Results results = new Results(batch);
+        // the producer only references the batch, so the results become unreachable once the consumer drops them
+        Cleaner.Cleanable stop = ABANDONED_BATCHES.register(results, () -> {
+            producer.interrupt();
+            payloads.close();
+        });
+        return StreamSupport.stream(results, false).onClose(stop::clean);
+    }
+
+    /**
+     * Producer side of a batch: sends the commands and queues their results.
+     */
+    private final class Batch {
+
+        private static final CreationResult END = new CreationResult(-1, null, null);
+
+        private final Iterator<Map<String, Object>> payloads;
+        private final Semaphore permits = new Semaphore(window);
+        private final BlockingQueue<CreationResult> results = new LinkedBlockingQueue<>();
+        private volatile RuntimeException producerFailure;
+
+        private Batch(Iterator<Map<String, Object>> payloads) {
+            this.payloads = payloads;
+        }
+
+        private void produce() {
+            try {
+                try {
+                    sendAll();
+                } catch (RuntimeException e) {
+                    producerFailure = e;
+                }
+                // wait for every outstanding command to deliver its result before signalling the end
+                permits.acquire(window);
+                permits.release(window);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                results.add(END);
+            }
+        }
+
+        private void sendAll() throws InterruptedException {
+            long index = 0;
+            while (payloads.hasNext()) {
+                Map<String, Object> variables = payloads.next();
+                permits.acquire();
+                long current = index++;
+                try {
+                    client.newCreateInstanceCommand()
+                            .bpmnProcessId(bpmnProcessId)
+                            .latestVersion()
+                            .variables(variables)
+                            .send()
+                            .whenComplete((event, failure) -> results.add(failure == null
+                                    ? CreationResult.success(current, event)
+                                    : CreationResult.failure(current, unwrap(failure))));
+                } catch (RuntimeException e) {
+                    results.add(CreationResult.failure(current, e));
+                }
+            }
+        }
+
+        private static Throwable unwrap(Throwable failure) {
+            return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        }
+    }
+
+    /**
+     * Consumer side of a batch, handed out as the result stream.
+     */
+    private static final class Results extends Spliterators.AbstractSpliterator<CreationResult> {
+
+        private final Batch batch;
+
+        private Results(Batch batch) {
+            super(Long.MAX_VALUE, Spliterator.NONNULL);
+            this.batch = batch;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super CreationResult> action) {
+            CreationResult result;
+            try {
+                result = batch.results.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException("Interrupted while waiting for batch results", e);
+            }
+            if (result == Batch.END) {
+                batch.results.add(Batch.END);
+                if (batch.producerFailure != null) {
+                    throw batch.producerFailure;
+                }
+                return false;
+            }
+            batch.permits.release();
+            action.accept(result);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.camunda.batch;
+
+import io.camunda.client.api.response.ProcessInstanceEvent;
+
+/**
+ * Result of creating one process instance in a batch. {@code index} is the position of the payload in
+ * the input stream; results are delivered in completion order, not input order.
+ */
+public record CreationResult(long index, ProcessInstanceEvent event, Throwable failure) {
+
+    static CreationResult success(long index, ProcessInstanceEvent event) {
+        return new CreationResult(index, event, null);
+    }
+
+    static CreationResult failure(long index, Throwable failure) {
+        return new CreationResult(index, null, failure);
+    }
+
+    public boolean isSuccess() {
+        return failure == null;
+    }
+}
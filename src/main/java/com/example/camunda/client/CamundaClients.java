@@ -0,0 +1,43 @@
+package com.example.camunda.client;
+
+import io.camunda.client.CamundaClient;
+import io.camunda.client.CamundaClientBuilder;
+
+import java.net.URI;
+
+/**
+ * Builds {@link CamundaClient}s configured by a {@link ClientProfile}.
+ *
+ * <p>With only a REST address every call goes over REST. With a gRPC address as well, commands prefer
+ * gRPC, whose single HTTP/2 channel multiplexes concurrent requests as streams over one connection.
+ * Build one client per service and share it; clients are thread-safe.
+ */
+public final class CamundaClients {
+
+    private CamundaClients() {
+    }
+
+    public static CamundaClient newClient(ClientProfile profile, URI restAddress) {
+        return builder(profile, restAddress).build();
+    }
+
+    public static CamundaClient newClient(ClientProfile profile, URI restAddress, URI grpcAddress) {
+        return builder(profile, restAddress, grpcAddress).build();
+    }
+
+    /**
+     * Returns a builder with the profile applied, for callers that need further settings such as credentials.
+     */
+    public static CamundaClientBuilder builder(ClientProfile profile, URI restAddress) {
+        return profile.applyTo(CamundaClient.newClientBuilder()
+                .restAddress(restAddress)
+                .preferRestOverGrpc(true));
+    }
+
+    public static CamundaClientBuilder builder(ClientProfile profile, URI restAddress, URI grpcAddress) {
+        return profile.applyTo(CamundaClient.newClientBuilder()
+                .restAddress(restAddress)
+                .grpcAddress(grpcAddress)
+                .preferRestOverGrpc(false));
+    }
+}
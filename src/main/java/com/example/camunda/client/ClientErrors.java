@@ -0,0 +1,84 @@
+package com.example.camunda.client;
+
+import io.camunda.client.api.command.ClientStatusException;
+import io.camunda.client.api.command.ProblemException;
+import io.grpc.Status;
+
+import java.io.IOException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Classifies failures reported by the Camunda client for both REST (problem details) and gRPC (status codes).
+ */
+public final class ClientErrors {
+
+    private ClientErrors() {
+    }
+
+    /**
+     * Strips the {@link CompletionException} and {@link ExecutionException} wrappers added by futures.
+     */
+    public static Throwable unwrap(Throwable failure) {
+        Throwable current = failure;
+        while ((current instanceof CompletionException || current instanceof ExecutionException)
+                && current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+
+    /**
+     * Whether the gateway rejected the request because it is overloaded (HTTP 429/503, RESOURCE_EXHAUSTED).
+     */
+    public static boolean isBackpressure(Throwable failure) {
+        Throwable cause = unwrap(failure);
+        if (cause instanceof ProblemException problem) {
+            return problem.code() == 429 || problem.code() == 503
+                    || (problem.details() != null && "RESOURCE_EXHAUSTED".equals(problem.details().getTitle()));
+        }
+        if (cause instanceof ClientStatusException status) {
+            return status.getStatusCode() == Status.Code.RESOURCE_EXHAUSTED;
+        }
+        return false;
+    }
+
+    /**
+     * Whether retrying the same request may succeed: backpressure, gateway errors (HTTP 5xx except 501),
+     * gRPC UNAVAILABLE/DEADLINE_EXCEEDED, timeouts and I/O failures. Rejections of the request itself are not.
+     */
+    public static boolean isRetryable(Throwable failure) {
+        Throwable cause = unwrap(failure);
+        if (isBackpressure(cause)) {
+            return true;
+        }
+        if (cause instanceof ProblemException problem) {
+            return problem.code() >= 500 && problem.code() != 501;
+        }
+        if (cause instanceof ClientStatusException status) {
+            return status.getStatusCode() == Status.Code.UNAVAILABLE
+                    || status.getStatusCode() == Status.Code.DEADLINE_EXCEEDED;
+        }
+        for (Throwable current = cause; current != null; current = current.getCause()) {
+            if (current instanceof TimeoutException || current instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether the target of the command does not exist (HTTP 404, NOT_FOUND).
+     */
+    public static boolean isNotFound(Throwable failure) {
+        Throwable cause = unwrap(failure);
+        if (cause instanceof ProblemException problem) {
+            return problem.code() == 404;
+        }
+        if (cause instanceof ClientStatusException status) {
+            return status.getStatusCode() == Status.Code.NOT_FOUND;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.camunda.client;
+
+import io.camunda.client.CamundaClientBuilder;
+
+import java.time.Duration;
+
+/**
+ * Named transport settings for {@link CamundaClients}.
+ *
+ * <p>Both profiles assume one long-lived client per service: its REST connection pool and gRPC channel
+ * keep connections open between requests, so TCP and TLS setup is paid once rather than per call.
+ *
+ * <p>Keep-alive and maximum message size only apply to the gRPC channel; the client has no equivalent
+ * settings for REST. Over REST the profiles therefore differ only in the request timeout.
+ */
+public enum ClientProfile {
+
+    /**
+     * Interactive callers: requests fail fast so they can be retried elsewhere, and keep-alive pings stop
+     * idle gRPC connections from being dropped between sparse requests. Pings are sent every 30 s, the
+     * gateway's minimum keep-alive interval; more frequent pings make it close the connection with
+     * {@code too_many_pings}.
+     */
+    LOW_LATENCY(Duration.ofSeconds(5), Duration.ofSeconds(30), 4 * 1024 * 1024),
+
+    /**
+     * Batch and load traffic: requests may queue behind many others before they are served, and search
+     * pages and variable payloads can be large.
+     */
+    HIGH_THROUGHPUT(Duration.ofSeconds(30), Duration.ofSeconds(45), 16 * 1024 * 1024);
+
+    private final Duration requestTimeout;
+    private final Duration keepAlive;
+    private final int maxMessageSize;
+
+    ClientProfile(Duration requestTimeout, Duration keepAlive, int maxMessageSize) {
+        this.requestTimeout = requestTimeout;
+        this.keepAlive = keepAlive;
+        this.maxMessageSize = maxMessageSize;
+    }
+
+    public Duration requestTimeout() {
+        return requestTimeout;
+    }
+
+    public Duration keepAlive() {
+        return keepAlive;
+    }
+
+    public int maxMessageSize() {
+        return maxMessageSize;
+    }
+
+    CamundaClientBuilder applyTo(CamundaClientBuilder builder) {
+        return builder
+                .defaultRequestTimeout(requestTimeout)
+                .keepAlive(keepAlive)
+                .maxMessageSize(maxMessageSize);
+    }
+}
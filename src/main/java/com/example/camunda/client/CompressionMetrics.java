@@ -0,0 +1,63 @@
+package com.example.camunda.client;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts what {@link GzipCompressionHandler} saved on the wire and how long compressing and decompressing took.
+ * Safe to read while requests are running.
+ */
+public final class CompressionMetrics {
+
+    private final LongAdder requestsCompressed = new LongAdder();
+    private final LongAdder requestBytesRaw = new LongAdder();
+    private final LongAdder requestBytesSent = new LongAdder();
+    private final LongAdder responsesDecompressed = new LongAdder();
+    private final LongAdder responseBytesReceived = new LongAdder();
+    private final LongAdder responseBytesDecoded = new LongAdder();
+    private final LongAdder codecNanos = new LongAdder();
+
+    void recordRequest(long rawBytes, long sentBytes, long codecNanos) {
+        requestsCompressed.increment();
+        requestBytesRaw.add(rawBytes);
+        requestBytesSent.add(sentBytes);
+        this.codecNanos.add(codecNanos);
+    }
+
+    void recordResponse(long receivedBytes, long decodedBytes, long codecNanos) {
+        responsesDecompressed.increment();
+        responseBytesReceived.add(receivedBytes);
+        responseBytesDecoded.add(decodedBytes);
+        this.codecNanos.add(codecNanos);
+    }
+
+    public long requestsCompressed() {
+        return requestsCompressed.sum();
+    }
+
+    public long responsesDecompressed() {
+        return responsesDecompressed.sum();
+    }
+
+    /**
+     * Bytes not sent or received thanks to compression, requests and responses together.
+     */
+    public long bytesSaved() {
+        return requestBytesRaw.sum() - requestBytesSent.sum() + responseBytesDecoded.sum() - responseBytesReceived.sum();
+    }
+
+    /**
+     * Wall-clock time spent compressing requests and decompressing responses, measured with
+     * {@link System#nanoTime()} around the gzip work. This is not CPU time: per-thread CPU time is not
+     * available for virtual threads, which send most requests here, and a descheduled thread still counts.
+     */
+    public Duration codecTime() {
+        return Duration.ofNanos(codecNanos.sum());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d requests compressed, %d responses decompressed, %d KiB saved, %.1f ms in gzip",
+                requestsCompressed(), responsesDecompressed(), bytesSaved() / 1024, codecNanos.sum() / 1e6);
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.camunda.client;
+
+import org.apache.hc.client5.http.async.AsyncExecCallback;
+import org.apache.hc.client5.http.async.AsyncExecChain;
+import org.apache.hc.client5.http.async.AsyncExecChainHandler;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.EntityDetails;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpException;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.nio.AsyncDataConsumer;
+import org.apache.hc.core5.http.nio.AsyncEntityProducer;
+import org.apache.hc.core5.http.nio.CapacityChannel;
+import org.apache.hc.core5.http.nio.DataStreamChannel;
+import org.apache.hc.core5.http.nio.entity.BasicAsyncEntityProducer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Opt-in gzip for the REST API, registered with {@code CamundaClientBuilder#withChainHandlers}: asks for
+ * compressed search responses and inflates them, and optionally compresses create-instance request
+ * bodies from a size threshold on.
+ *
+ * <p>Both directions need the other side to take part. The gateway only compresses responses when
+ * {@code server.compression.enabled} is set, and compressed request bodies must be decoded by the
+ * gateway or a proxy in front of it. Responses that arrive uncompressed pass through untouched; compressed
+ * responses that inflate to more than 64 MiB are rejected.
+ */
+public final class GzipCompressionHandler implements AsyncExecChainHandler {
+
+    private static final String GZIP = "gzip";
+    private static final int NO_REQUEST_COMPRESSION = -1;
+    private static final int MAX_PRODUCE_ROUNDS = 16;
+    private static final int MAX_DECOMPRESSED_BYTES = 64 * 1024 * 1024;
+
+    private final int requestThreshold;
+    private final CompressionMetrics metrics = new CompressionMetrics();
+
+    private GzipCompressionHandler(int requestThreshold) {
+        this.requestThreshold = requestThreshold;
+    }
+
+    public static GzipCompressionHandler responsesOnly() {
+        return new GzipCompressionHandler(NO_REQUEST_COMPRESSION);
+    }
+
+    /**
+     * Also compresses create-instance bodies of at least {@code thresholdBytes}, e.g. large variable payloads.
+     */
+    public static GzipCompressionHandler withRequestCompression(int thresholdBytes) {
+        if (thresholdBytes < 0) {
+            throw new IllegalArgumentException("thresholdBytes must not be negative: " + thresholdBytes);
+        }
+        return new GzipCompressionHandler(thresholdBytes);
+    }
+
+    public CompressionMetrics metrics() {
+        return metrics;
+    }
+
+    @Override
+    public void execute(HttpRequest request, AsyncEntityProducer entityProducer, AsyncExecChain.Scope scope,
+                        AsyncExecChain chain, AsyncExecCallback callback) throws HttpException, IOException {
+        String path = request.getPath();
+        if (requestThreshold != NO_REQUEST_COMPRESSION && entityProducer != null
+                && entityProducer.getContentEncoding() == null && path.endsWith("/v2/process-instances")) {
+            entityProducer = compress(request, entityProducer);
+        }
+        if (path.endsWith("/search")) {
+            if (!request.containsHeader(HttpHeaders.ACCEPT_ENCODING)) {
+                request.setHeader(HttpHeaders.ACCEPT_ENCODING, GZIP);
+            }
+            callback = new DecompressingCallback(callback);
+        }
+        chain.proceed(request, entityProducer, scope, callback);
+    }
+
+    private AsyncEntityProducer compress(HttpRequest request, AsyncEntityProducer producer) throws IOException {
+        long length = producer.getContentLength();
+        if (length >= 0 && length < requestThreshold) {
+            return producer;
+        }
+        byte[] body = drain(producer);
+        if (body == null) {
+            return producer;
+        }
+        ContentType contentType = ContentType.parse(producer.getContentType());
+        if (body.length < requestThreshold) {
+            return new BasicAsyncEntityProducer(body, contentType);
+        }
+
+        long start = System.nanoTime();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        }
+        metrics.recordRequest(body.length, compressed.size(), System.nanoTime() - start);
+
+        request.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        request.removeHeaders(HttpHeaders.CONTENT_LENGTH);
+        return new BasicAsyncEntityProducer(compressed.toByteArray(), contentType);
+    }
+
+    /**
+     * Reads the whole body of an in-memory producer, or returns {@code null} if it does not produce
+     * synchronously and is repeatable, in which case it has been reset and can still be sent as is.
+     */
+    private static byte[] drain(AsyncEntityProducer producer) throws IOException {
+        CapturingChannel channel = new CapturingChannel();
+        for (int round = 0; !channel.ended; round++) {
+            if (round == MAX_PRODUCE_ROUNDS) {
+                if (!producer.isRepeatable()) {
+                    throw new IOException("Request body cannot be buffered for compression");
+                }
+                producer.releaseResources();
+                return null;
+            }
+            producer.produce(channel);
+        }
+        return channel.bytes.toByteArray();
+    }
+
+    private static final class CapturingChannel implements DataStreamChannel {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private boolean ended;
+
+        @Override
+        public void requestOutput() {
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            int written = src.remaining();
+            byte[] chunk = new byte[written];
+            src.get(chunk);
+            bytes.writeBytes(chunk);
+            return written;
+        }
+
+        @Override
+        public void endStream() {
+            ended = true;
+        }
+
+        @Override
+        public void endStream(List<? extends Header> trailers) {
+            ended = true;
+        }
+    }
+
+    private final class DecompressingCallback implements AsyncExecCallback {
+
+        private final AsyncExecCallback delegate;
+
+        private DecompressingCallback(AsyncExecCallback delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public AsyncDataConsumer handleResponse(HttpResponse response, EntityDetails entityDetails)
+                throws HttpException, IOException {
+            Header encoding = response.getFirstHeader(HttpHeaders.CONTENT_ENCODING);
+            if (entityDetails == null || encoding == null || !GZIP.equalsIgnoreCase(encoding.getValue().trim())) {
+                return delegate.handleResponse(response, entityDetails);
+            }
+            response.removeHeaders(HttpHeaders.CONTENT_ENCODING);
+            response.removeHeaders(HttpHeaders.CONTENT_LENGTH);
+            AsyncDataConsumer consumer = delegate.handleResponse(response, new DecodedEntityDetails(entityDetails));
+            return consumer == null ? null : new GunzippingConsumer(consumer);
+        }
+
+        @Override
+        public void handleInformationResponse(HttpResponse response) throws HttpException, IOException {
+            delegate.handleInformationResponse(response);
+        }
+
+        @Override
+        public void completed() {
+            delegate.completed();
+        }
+
+        @Override
+        public void failed(Exception cause) {
+            delegate.failed(cause);
+        }
+    }
+
+    /**
+     * Buffers the compressed body, which is a fraction of a search page, and hands it on inflated.
+     */
+    private final class GunzippingConsumer implements AsyncDataConsumer {
+
+        private final AsyncDataConsumer delegate;
+        private final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        private GunzippingConsumer(AsyncDataConsumer delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void updateCapacity(CapacityChannel capacityChannel) throws IOException {
+            capacityChannel.update(Integer.MAX_VALUE);
+        }
+
+        @Override
+        public void consume(ByteBuffer src) {
+            byte[] chunk = new byte[src.remaining()];
+            src.get(chunk);
+            compressed.writeBytes(chunk);
+        }
+
+        @Override
+        public void streamEnd(List<? extends Header> trailers) throws HttpException, IOException {
+            long start = System.nanoTime();
+            byte[] body;
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+                body = in.readNBytes(MAX_DECOMPRESSED_BYTES + 1);
+            }
+            if (body.length > MAX_DECOMPRESSED_BYTES) {
+                throw new IOException("Decompressed response exceeds " + MAX_DECOMPRESSED_BYTES + " bytes");
+            }
+            metrics.recordResponse(compressed.size(), body.length, System.nanoTime() - start);
+            delegate.consume(ByteBuffer.wrap(body));
+            delegate.streamEnd(trailers);
+        }
+
+        @Override
+        public void releaseResources() {
+            delegate.releaseResources();
+        }
+    }
+
+    private record DecodedEntityDetails(EntityDetails encoded) implements EntityDetails {
+
+        @Override
+        public long getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public String getContentType() {
+            return encoded.getContentType();
+        }
+
+        @Override
+        public String getContentEncoding() {
+            return null;
+        }
+
+        @Override
+        public boolean isChunked() {
+            return true;
+        }
+
+        @Override
+        public Set<String> getTrailerNames() {
+            return encoded.getTrailerNames();
+        }
+    }
+}
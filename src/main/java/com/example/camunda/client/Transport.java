@@ -0,0 +1,9 @@
+package com.example.camunda.client;
+
+/**
+ * The API a command is sent over.
+ */
+public enum Transport {
+    REST,
+    GRPC
+}
@@ -0,0 +1,95 @@
+package com.example.camunda.client;
+
+import io.camunda.client.api.command.CommandWithCommunicationApiStep;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Chooses the transport per operation, independently of the client's {@code preferRestOverGrpc} setting.
+ * Instances are immutable.
+ *
+ * <p>Only process instance creation is available over both APIs; user task commands and searches exist
+ * on REST only, so routing them to gRPC is rejected.
+ */
+public final class TransportRouting {
+
+    public enum Operation {
+        CREATE_INSTANCE(true),
+        ASSIGN_USER_TASK(false),
+        COMPLETE_USER_TASK(false),
+        SEARCH_USER_TASKS(false),
+        SEARCH_PROCESS_INSTANCES(false);
+
+        private final boolean grpcSupported;
+
+        Operation(boolean grpcSupported) {
+            this.grpcSupported = grpcSupported;
+        }
+
+        public boolean grpcSupported() {
+            return grpcSupported;
+        }
+    }
+
+    private static final TransportRouting CLIENT_DEFAULT = new TransportRouting(new EnumMap<>(Operation.class));
+
+    private final Map<Operation, Transport> routes;
+
+    private TransportRouting(Map<Operation, Transport> routes) {
+        this.routes = Collections.unmodifiableMap(routes);
+    }
+
+    /**
+     * Leaves every operation to the client's preferred transport.
+     */
+    public static TransportRouting clientDefault() {
+        return CLIENT_DEFAULT;
+    }
+
+    /**
+     * Sends commands that support it over gRPC and everything else over REST.
+     */
+    public static TransportRouting commandsOverGrpc() {
+        TransportRouting routing = CLIENT_DEFAULT;
+        for (Operation operation : Operation.values()) {
+            routing = routing.with(operation, operation.grpcSupported() ? Transport.GRPC : Transport.REST);
+        }
+        return routing;
+    }
+
+    public static TransportRouting restOnly() {
+        TransportRouting routing = CLIENT_DEFAULT;
+        for (Operation operation : Operation.values()) {
+            routing = routing.with(operation, Transport.REST);
+        }
+        return routing;
+    }
+
+    public TransportRouting with(Operation operation, Transport transport) {
+        if (transport == Transport.GRPC && !operation.grpcSupported()) {
+            throw new IllegalArgumentException(operation + " is not available over gRPC");
+        }
+        Map<Operation, Transport> routes = new EnumMap<>(Operation.class);
+        routes.putAll(this.routes);
+        routes.put(operation, transport);
+        return new TransportRouting(routes);
+    }
+
+    public Optional<Transport> transport(Operation operation) {
+        return Optional.ofNullable(routes.get(operation));
+    }
+
+    /**
+     * Selects the routed transport on a command; commands of unrouted operations are returned unchanged.
+     */
+    public <T extends CommandWithCommunicationApiStep<T>> T apply(Operation operation, T command) {
+        Transport transport = routes.get(operation);
+        if (transport == null) {
+            return command;
+        }
+        return transport == Transport.GRPC ? command.useGrpc() : command.useRest();
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.camunda.deploy;
+
+/**
+ * A process definition that is known to be deployed for a given resource content hash.
+ */
+public record CachedDeployment(String resourceName, String contentHash, String bpmnProcessId,
+                               int version, long processDefinitionKey) {
+}
@@ -0,0 +1,201 @@
+package com.example.camunda.deploy;
+
+import com.example.camunda.client.ClientErrors;
+import io.camunda.client.CamundaClient;
+import io.camunda.client.api.response.DeploymentEvent;
+import io.camunda.client.api.response.Process;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Deploys classpath BPMN resources only when their content changed since the last deployment.
+ *
+ * <p>Entries are keyed by namespace, resource name and SHA-256 of the resource bytes. The namespace
+ * identifies the cluster (e.g. its REST address), so a cache file is never reused against another
+ * cluster. A cluster can still be reset under the same address, so an entry loaded from the store is
+ * checked once against the cluster before it is used: if its process definition is gone, the resource
+ * is deployed again. Concurrent callers for the same resource share one deployment.
+ */
+public class DeploymentCache {
+
+    private static final Logger log = LoggerFactory.getLogger(DeploymentCache.class);
+
+    private final CamundaClient client;
+    private final String namespace;
+    private final Path store;
+    private final Map<String, CompletableFuture<CachedDeployment>> deployments = new ConcurrentHashMap<>();
+    private final Map<String, CachedDeployment> persisted = new ConcurrentHashMap<>();
+
+    public DeploymentCache(CamundaClient client, String namespace) {
+        this(client, namespace, null);
+    }
+
+    /**
+     * @param store properties file to persist entries in between runs, or {@code null} for memory only
+     */
+    public DeploymentCache(CamundaClient client, String namespace, Path store) {
+        this.client = client;
+        this.namespace = namespace;
+        this.store = store;
+        if (store != null && Files.exists(store)) {
+            load(store);
+        }
+    }
+
+    public CachedDeployment deployFromClasspath(String resourceName) {
+        byte[] content = readClasspathResource(resourceName);
+        String contentHash = sha256(content);
+        String cacheKey = namespace + '|' + resourceName + '|' + contentHash;
+        CompletableFuture<CachedDeployment> pending = new CompletableFuture<>();
+        CompletableFuture<CachedDeployment> existing = deployments.putIfAbsent(cacheKey, pending);
+        if (existing != null) {
+            return existing.join();
+        }
+
+        try {
+            CachedDeployment deployment = stillDeployed(persisted.remove(cacheKey));
+            if (deployment == null) {
+                deployment = deploy(cacheKey, resourceName, contentHash, content);
+            }
+            pending.complete(deployment);
+            return deployment;
+        } catch (RuntimeException e) {
+            // let the next caller try again
+            deployments.remove(cacheKey, pending);
+            pending.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the known deployment of the resource's current content without contacting the cluster. An
+     * entry loaded from the store may be stale until {@link #deployFromClasspath} has checked it.
+     */
+    public Optional<CachedDeployment> lookup(String resourceName) {
+        String contentHash = sha256(readClasspathResource(resourceName));
+        String cacheKey = namespace + '|' + resourceName + '|' + contentHash;
+        CompletableFuture<CachedDeployment> deployment = deployments.get(cacheKey);
+        if (deployment != null && deployment.isDone() && !deployment.isCompletedExceptionally()) {
+            return Optional.of(deployment.join());
+        }
+        return Optional.ofNullable(persisted.get(cacheKey));
+    }
+
+    /**
+     * Returns the persisted deployment if the cluster still knows its process definition, or {@code null}.
+     * Definitions are read from secondary storage, so one deployed moments ago may not be found yet; it is
+     * then deployed again, which the engine answers with the existing version.
+     */
+    private CachedDeployment stillDeployed(CachedDeployment deployment) {
+        if (deployment == null) {
+            return null;
+        }
+        try {
+            client.newProcessDefinitionGetRequest(deployment.processDefinitionKey()).send().join();
+            return deployment;
+        } catch (RuntimeException e) {
+            if (!ClientErrors.isNotFound(e)) {
+                throw e;
+            }
+            log.info("Process definition {} of {} no longer exists, deploying again",
+                    deployment.processDefinitionKey(), deployment.resourceName());
+            return null;
+        }
+    }
+
+    private CachedDeployment deploy(String cacheKey, String resourceName, String contentHash, byte[] content) {
+        DeploymentEvent event = client.newDeployResourceCommand()
+                .addResourceBytes(content, resourceName)
+                .send()
+                .join();
+        if (event.getProcesses().isEmpty()) {
+            throw new IllegalStateException("Resource " + resourceName + " did not contain a process");
+        }
+        Process process = event.getProcesses().getFirst();
+        CachedDeployment deployment = new CachedDeployment(resourceName, contentHash,
+                process.getBpmnProcessId(), process.getVersion(), process.getProcessDefinitionKey());
+        log.info("Deployed {} as {} version {} (key {})",
+                resourceName, deployment.bpmnProcessId(), deployment.version(), deployment.processDefinitionKey());
+        if (store != null) {
+            persist(cacheKey, deployment);
+        }
+        return deployment;
+    }
+
+    private void load(Path path) {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(path)) {
+            properties.load(in);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable deployment cache {}", path, e);
+            return;
+        }
+        for (String cacheKey : properties.stringPropertyNames()) {
+            String[] key = cacheKey.split("\\|", 3);
+            String[] value = properties.getProperty(cacheKey).split(",", 3);
+            if (key.length != 3 || value.length != 3) {
+                continue;
+            }
+            persisted.put(cacheKey, new CachedDeployment(key[1], key[2],
+                    value[0], Integer.parseInt(value[1]), Long.parseLong(value[2])));
+        }
+    }
+
+    private synchronized void persist(String cacheKey, CachedDeployment deployment) {
+        Properties properties = new Properties();
+        try {
+            if (Files.exists(store)) {
+                try (InputStream in = Files.newInputStream(store)) {
+                    properties.load(in);
+                }
+            }
+            properties.setProperty(cacheKey, deployment.bpmnProcessId() + ','
+                    + deployment.version() + ',' + deployment.processDefinitionKey());
+            Path parent = store.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, "deployments", ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                properties.store(out, "Camunda deployment cache");
+            }
+            Files.move(temp, store, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not persist deployment cache {}", store, e);
+        }
+    }
+
+    private static byte[] readClasspathResource(String resourceName) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        try (InputStream in = classLoader.getResourceAsStream(resourceName)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Resource not found on classpath: " + resourceName);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + resourceName, e);
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
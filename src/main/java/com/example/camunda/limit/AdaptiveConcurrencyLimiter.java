@@ -0,0 +1,197 @@
+package com.example.camunda.limit;
+
+import com.example.camunda.client.ClientErrors;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of concurrent commands and adapts the limit to how the gateway responds (AIMD).
+ *
+ * <p>While latency stays within {@code tolerance} times the baseline (the lowest latency seen in the
+ * last sampling window), the limit grows by about one per limit's worth of successful calls. Latency
+ * above that shrinks it by 10%; backpressure rejections (HTTP 429/503, RESOURCE_EXHAUSTED) halve it.
+ * Other failures do not change the limit. Only calls started after the last decrease can decrease it
+ * again, so a burst of slow or rejected calls that were in flight together shrinks the limit once.
+ * Callers over the limit queue in arrival order.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int BASELINE_WINDOW = 500;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final ArrayDeque<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+
+    private double limit;
+    private int inFlight;
+    private long baselineNanos = Long.MAX_VALUE;
+    private long windowMinNanos = Long.MAX_VALUE;
+    private int windowSamples;
+    private long lastDecreaseNanos = System.nanoTime();
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("Expected 1 <= minLimit <= initialLimit <= maxLimit");
+        }
+        if (tolerance < 1.0) {
+            throw new IllegalArgumentException("tolerance must be >= 1: " + tolerance);
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+    }
+
+    public static AdaptiveConcurrencyLimiter withDefaults() {
+        return new AdaptiveConcurrencyLimiter(20, 1, 1000, 2.0);
+    }
+
+    /**
+     * Runs a blocking command once a slot is free.
+     */
+    public <T> T call(Supplier<T> command) throws InterruptedException {
+        acquire();
+        long start = System.nanoTime();
+        try {
+            T result = command.get();
+            onSuccess(start, System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            onFailure(start, e);
+            throw e;
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Starts an asynchronous command once a slot is free, without blocking the calling thread.
+     */
+    public <T> CompletableFuture<T> callAsync(Supplier<? extends CompletionStage<T>> command) {
+        return acquireAsync().thenCompose(granted -> {
+            long start = System.nanoTime();
+            CompletionStage<T> stage;
+            try {
+                stage = command.get();
+            } catch (RuntimeException e) {
+                onFailure(start, e);
+                release();
+                return CompletableFuture.failedFuture(e);
+            }
+            return stage.whenComplete((result, failure) -> {
+                if (failure == null) {
+                    onSuccess(start, System.nanoTime() - start);
+                } else {
+                    onFailure(start, failure);
+                }
+                release();
+            }).toCompletableFuture();
+        });
+    }
+
+    public synchronized int limit() {
+        return (int) limit;
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    private void acquire() throws InterruptedException {
+        CompletableFuture<Void> grant = acquireAsync();
+        try {
+            grant.get();
+        } catch (InterruptedException e) {
+            if (!grant.cancel(false)) {
+                // the slot was granted concurrently, hand it back
+                release();
+            }
+            throw e;
+        } catch (ExecutionException | CancellationException e) {
+            throw new IllegalStateException("Unexpected failure of a limiter grant", e);
+        }
+    }
+
+    private synchronized CompletableFuture<Void> acquireAsync() {
+        if (inFlight < (int) limit && waiting.isEmpty()) {
+            inFlight++;
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> grant = new CompletableFuture<>();
+        waiting.add(grant);
+        return grant;
+    }
+
+    private void release() {
+        List<CompletableFuture<Void>> granted = new ArrayList<>();
+        synchronized (this) {
+            inFlight--;
+            grantWaiting(granted);
+        }
+        complete(granted);
+    }
+
+    private void onSuccess(long startNanos, long latencyNanos) {
+        List<CompletableFuture<Void>> granted = new ArrayList<>();
+        synchronized (this) {
+            windowMinNanos = Math.min(windowMinNanos, latencyNanos);
+            if (++windowSamples >= BASELINE_WINDOW || baselineNanos == Long.MAX_VALUE) {
+                baselineNanos = windowMinNanos;
+                windowMinNanos = Long.MAX_VALUE;
+                windowSamples = 0;
+            }
+            if (latencyNanos > baselineNanos * tolerance) {
+                decrease(startNanos, 0.9);
+            } else {
+                limit = Math.min(maxLimit, limit + 1.0 / limit);
+            }
+            grantWaiting(granted);
+        }
+        complete(granted);
+    }
+
+    private void onFailure(long startNanos, Throwable failure) {
+        if (ClientErrors.isBackpressure(failure)) {
+            synchronized (this) {
+                decrease(startNanos, 0.5);
+            }
+        }
+    }
+
+    // must hold the monitor; calls started before the last decrease saw the old limit and are ignored
+    private void decrease(long startNanos, double factor) {
+        if (startNanos - lastDecreaseNanos < 0) {
+            return;
+        }
+        limit = Math.max(minLimit, limit * factor);
+        lastDecreaseNanos = System.nanoTime();
+    }
+
+    private void complete(List<CompletableFuture<Void>> granted) {
+        for (CompletableFuture<Void> grant : granted) {
+            if (!grant.complete(null)) {
+                // cancelled by an interrupted caller after it was granted
+                release();
+            }
+        }
+    }
+
+    // must hold the monitor; grants are completed by the caller after leaving it
+    private void grantWaiting(List<CompletableFuture<Void>> granted) {
+        while (inFlight < (int) limit && !waiting.isEmpty()) {
+            CompletableFuture<Void> grant = waiting.poll();
+            if (!grant.isCancelled()) {
+                inFlight++;
+                granted.add(grant);
+            }
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.camunda.load;
+
+import com.example.camunda.await.Awaiter;
+import com.example.camunda.client.CamundaClients;
+import com.example.camunda.client.GzipCompressionHandler;
+import com.example.camunda.client.TransportRouting;
+import com.example.camunda.deploy.DeploymentCache;
+import com.example.camunda.limit.AdaptiveConcurrencyLimiter;
+import com.example.camunda.metrics.StepMetrics;
+import com.example.camunda.orchestration.OrchestrationFlow;
+import com.example.camunda.stub.CamundaStubServer;
+import io.camunda.client.CamundaClient;
+import io.camunda.client.CamundaClientBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives demoProcess orchestrations against a cluster in an open (fixed arrival rate) or closed (fixed
+ * concurrency) model, with linear ramp-up, a warm-up phase excluded from the results and a final report
+ * of throughput and per-step latency percentiles.
+ *
+ * <p>Every orchestration carries the time the schedule intended it to start. Each one runs its steps on
+ * its own virtual thread, so only that start can be held back by earlier slow responses; create and
+ * end-to-end latency are therefore reported both raw and measured from the intended start.
+ *
+ * <p>Only orchestrations whose intended start falls into the measurement window, after warm-up and before
+ * the end of the run, are counted and recorded, and throughput is taken over the length of that window.
+ * Warm-up orchestrations that finish late and the drain of in-flight orchestrations after the end
+ * therefore do not skew the results.
+ */
+public class LoadGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadGenerator.class);
+    private static final Duration TASK_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration COMPLETION_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration REPORT_INTERVAL = Duration.ofSeconds(10);
+    private static final int GZIP_THRESHOLD = 8 * 1024;
+
+    private final LoadOptions options;
+    private final OrchestrationFlow flow;
+    private final OrchestrationFlow warmUpFlow;
+    private final StepMetrics metrics;
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private long measureStart;
+    private long measureEnd;
+
+    public LoadGenerator(LoadOptions options, OrchestrationFlow flow) {
+        this.options = options;
+        this.flow = flow;
+        this.metrics = flow.metrics();
+        this.warmUpFlow = flow.withMetrics(new StepMetrics());
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        CamundaStubServer stub = options.stub() ? CamundaStubServer.start() : null;
+        URI restAddress = stub != null ? stub.restAddress() : options.restAddress();
+
+        CamundaClientBuilder builder = options.grpcAddress() == null
+                ? CamundaClients.builder(options.profile(), restAddress)
+                : CamundaClients.builder(options.profile(), restAddress, options.grpcAddress());
+        GzipCompressionHandler compression =
+                options.gzip() ? GzipCompressionHandler.withRequestCompression(GZIP_THRESHOLD) : null;
+        if (compression != null) {
+            builder.withChainHandlers(compression);
+        }
+
+        try (CamundaClient client = builder.build()) {
+            new DeploymentCache(client, restAddress.toString()).deployFromClasspath("demoProcess.bpmn");
+
+            AdaptiveConcurrencyLimiter limiter = options.adaptiveLimit() ? AdaptiveConcurrencyLimiter.withDefaults() : null;
+            OrchestrationFlow flow = OrchestrationFlow.builder(client)
+                    .awaiter(Awaiter.withDefaults())
+                    .taskTimeout(TASK_TIMEOUT)
+                    .completionTimeout(COMPLETION_TIMEOUT)
+                    .limiter(limiter)
+                    .routing(options.grpcAddress() == null
+                            ? TransportRouting.restOnly()
+                            : TransportRouting.commandsOverGrpc())
+                    .build();
+            LoadReport report = new LoadGenerator(options, flow).run();
+            log.info("Load run finished ({} model)\n{}", options.model(), report.format());
+            if (limiter != null) {
+                log.info("Adaptive command limit settled at {}", limiter.limit());
+            }
+            if (compression != null) {
+                log.info("Compression: {}", compression.metrics());
+            }
+        } finally {
+            if (stub != null) {
+                stub.close();
+            }
+        }
+    }
+
+    public LoadReport run() throws InterruptedException {
+        long start = System.nanoTime();
+        measureStart = start + options.warmUp().toNanos();
+        measureEnd = measureStart + options.duration().toNanos();
+        long end = measureEnd;
+        log.info("Starting {} load: warm-up {}, measuring {}", options.model(), options.warmUp(), options.duration());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            metrics.startReporting(REPORT_INTERVAL);
+            if (options.model() == LoadOptions.Model.CLOSED) {
+                runClosed(executor, start, end);
+            } else {
+                runOpen(executor, start, end);
+            }
+        } finally {
+            metrics.close();
+        }
+
+        Duration measured = Duration.ofNanos(measureEnd - measureStart);
+        if (options.histogramDir() != null) {
+            try {
+                metrics.writeHistograms(options.histogramDir());
+            } catch (IOException e) {
+                log.warn("Could not write histograms to {}", options.histogramDir(), e);
+            }
+        }
+        return new LoadReport(completed.sum(), failed.sum(), dropped.sum(), measured,
+                metrics.snapshot(), metrics.correctedSnapshot());
+    }
+
+    private void runClosed(ExecutorService executor, long start, long end) {
+        int concurrency = options.concurrency();
+        long rampUpNanos = options.rampUp().toNanos();
+        long intervalNanos = options.paced() ? (long) (TimeUnit.SECONDS.toNanos(1) * concurrency / options.rate()) : 0L;
+        for (int i = 0; i < concurrency; i++) {
+            long workerStart = start + rampUpNanos * i / concurrency;
+            executor.execute(() -> {
+                long intendedStart = workerStart;
+                parkUntil(intendedStart);
+                while (System.nanoTime() - end < 0 && !Thread.currentThread().isInterrupted()) {
+                    if (options.paced()) {
+                        // a late orchestration starts right away but keeps its place in the schedule
+                        parkUntil(intendedStart);
+                        runOne(intendedStart);
+                        intendedStart += intervalNanos;
+                    } else {
+                        runOne(System.nanoTime());
+                    }
+                }
+            });
+        }
+    }
+
+    private void runOpen(ExecutorService executor, long start, long end) {
+        long rampUpNanos = options.rampUp().toNanos();
+        long next;
+        for (long n = 0; (next = start + arrivalOffsetNanos(n, options.rate(), rampUpNanos)) - end < 0; n++) {
+            parkUntil(next);
+            if (inFlight.get() >= options.maxInFlight()) {
+                if (isMeasured(next)) {
+                    dropped.increment();
+                }
+            } else {
+                long intendedStart = next;
+                inFlight.incrementAndGet();
+                executor.execute(() -> {
+                    try {
+                        runOne(intendedStart);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Offset from the start of the run of the n-th arrival, counted from zero. While ramping up the rate
+     * rises linearly from zero, so n arrivals take {@code sqrt(2 * n * rampUp / rate)}; the arrivals after
+     * the ramp follow at the full rate.
+     */
+    private static long arrivalOffsetNanos(long n, double rate, long rampUpNanos) {
+        double nanosPerArrival = TimeUnit.SECONDS.toNanos(1) / rate;
+        double rampArrivals = rampUpNanos / nanosPerArrival / 2;
+        if (n < rampArrivals) {
+            return (long) Math.sqrt(2.0 * n * rampUpNanos * nanosPerArrival);
+        }
+        return rampUpNanos + (long) ((n - rampArrivals) * nanosPerArrival);
+    }
+
+    private void runOne(long intendedStartNanos) {
+        boolean measured = isMeasured(intendedStartNanos);
+        try {
+            (measured ? flow : warmUpFlow).run(intendedStartNanos);
+            if (measured) {
+                completed.increment();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            if (measured) {
+                failed.increment();
+            }
+            log.debug("Orchestration failed", e);
+        }
+    }
+
+    private boolean isMeasured(long intendedStartNanos) {
+        return intendedStartNanos - measureStart >= 0 && intendedStartNanos - measureEnd < 0;
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
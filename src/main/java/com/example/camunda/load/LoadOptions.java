@@ -0,0 +1,120 @@
+package com.example.camunda.load;
+
+import com.example.camunda.client.ClientProfile;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Command line options of {@link LoadGenerator}, given as {@code --name=value}.
+ *
+ * @param model        {@code open}: start orchestrations at {@code rate} per second regardless of how many are
+ *                     in flight; {@code closed}: keep {@code concurrency} orchestrations running back to back
+ * @param rate         orchestrations per second; in the closed model optional, and when set each worker follows
+ *                     a fixed schedule so latency can be corrected for coordinated omission
+ * @param maxInFlight  open model only: starts beyond this many in-flight orchestrations are dropped and counted
+ * @param histogramDir directory to write raw and corrected HdrHistogram logs to, or {@code null}
+ * @param adaptiveLimit run commands through an {@link com.example.camunda.limit.AdaptiveConcurrencyLimiter}
+ * @param stub         run against an embedded {@link com.example.camunda.stub.CamundaStubServer} instead of {@code rest}
+ * @param profile      transport settings of the client, {@code high-throughput} by default
+ * @param grpcAddress  when set, create commands go over gRPC to this address, everything else over REST
+ * @param gzip         accept gzip search responses and gzip create requests of 8 KiB or more
+ */
+public record LoadOptions(URI restAddress, Model model, double rate, int concurrency, int maxInFlight,
+                          Duration rampUp, Duration warmUp, Duration duration, Path histogramDir, boolean adaptiveLimit,
+                          boolean stub, ClientProfile profile, URI grpcAddress,
+                          boolean gzip) {
+
+    public enum Model { OPEN, CLOSED }
+
+    public boolean paced() {
+        return rate > 0;
+    }
+
+    static final String USAGE = """
+            Usage: LoadGenerator [--rest=http://localhost:8080] [--model=closed|open]
+                                 [--concurrency=50] [--rate=100] [--max-in-flight=10000]
+                                 [--ramp-up=10s] [--warm-up=30s] [--duration=2m]
+                                 [--histogram-dir=target/histograms] [--adaptive-limit] [--stub]
+                                 [--profile=high-throughput|low-latency] [--grpc=http://localhost:26500]
+                                 [--gzip]""";
+
+    public static LoadOptions parse(String[] args) {
+        URI restAddress = URI.create("http://localhost:8080");
+        Model model = Model.CLOSED;
+        double rate = 0;
+        int concurrency = 50;
+        int maxInFlight = 10_000;
+        Duration rampUp = Duration.ofSeconds(10);
+        Duration warmUp = Duration.ofSeconds(30);
+        Duration duration = Duration.ofMinutes(2);
+        Path histogramDir = null;
+        boolean adaptiveLimit = false;
+        boolean stub = false;
+        ClientProfile profile = ClientProfile.HIGH_THROUGHPUT;
+        URI grpcAddress = null;
+        boolean gzip = false;
+
+        for (String arg : args) {
+            if (arg.equals("--stub")) {
+                stub = true;
+                continue;
+            }
+            if (arg.equals("--adaptive-limit")) {
+                adaptiveLimit = true;
+                continue;
+            }
+            if (arg.equals("--gzip")) {
+                gzip = true;
+                continue;
+            }
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Unexpected argument " + arg + "\n" + USAGE);
+            }
+            String value = arg.substring(separator + 1);
+            switch (arg.substring(2, separator)) {
+                case "rest" -> restAddress = URI.create(value);
+                case "grpc" -> grpcAddress = URI.create(value);
+                case "model" -> model = Model.valueOf(value.toUpperCase(Locale.ROOT));
+                case "rate" -> rate = Double.parseDouble(value);
+                case "concurrency" -> concurrency = Integer.parseInt(value);
+                case "max-in-flight" -> maxInFlight = Integer.parseInt(value);
+                case "ramp-up" -> rampUp = parseDuration(value);
+                case "warm-up" -> warmUp = parseDuration(value);
+                case "duration" -> duration = parseDuration(value);
+                case "histogram-dir" -> histogramDir = Path.of(value);
+                case "profile" -> profile = ClientProfile.valueOf(value.toUpperCase(Locale.ROOT).replace('-', '_'));
+                default -> throw new IllegalArgumentException("Unknown option " + arg + "\n" + USAGE);
+            }
+        }
+        if (model == Model.OPEN && rate == 0) {
+            rate = 100;
+        }
+        if (stub && grpcAddress != null) {
+            throw new IllegalArgumentException("The stub serves REST only, --grpc cannot be combined with --stub\n" + USAGE);
+        }
+        if (rate < 0 || concurrency < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("rate, concurrency and max-in-flight must be positive\n" + USAGE);
+        }
+        return new LoadOptions(restAddress, model, rate, concurrency, maxInFlight, rampUp, warmUp, duration,
+                histogramDir, adaptiveLimit, stub, profile, grpcAddress, gzip);
+    }
+
+    /**
+     * Parses {@code 500ms}, {@code 30s}, {@code 2m}, {@code 1h} or plain seconds.
+     */
+    static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        long amount = Long.parseLong(value.replaceAll("[smh]$", ""));
+        return switch (value.charAt(value.length() - 1)) {
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> Duration.ofSeconds(amount);
+        };
+    }
+}
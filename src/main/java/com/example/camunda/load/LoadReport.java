@@ -0,0 +1,34 @@
+package com.example.camunda.load;
+
+import com.example.camunda.metrics.Step;
+import com.example.camunda.metrics.StepStats;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Result of a load run for the orchestrations scheduled to start in the measurement window, which
+ * excludes the warm-up phase; {@code measured} is the length of that window. {@code corrected} holds latencies measured from the
+ * scheduled start of each orchestration; it equals {@code steps} for an unpaced closed-model run.
+ */
+public record LoadReport(long completed, long failed, long dropped, Duration measured,
+                         Map<Step, StepStats> steps, Map<Step, StepStats> corrected) {
+
+    public double throughputPerSecond() {
+        long nanos = measured.toNanos();
+        return nanos == 0 ? 0.0 : completed * 1_000_000_000.0 / nanos;
+    }
+
+    public String format() {
+        StringBuilder report = new StringBuilder()
+                .append(String.format("completed=%d failed=%d dropped=%d in %.1fs -> %.1f orchestrations/s%n",
+                        completed, failed, dropped, measured.toMillis() / 1000.0, throughputPerSecond()));
+        steps.forEach((step, stats) -> {
+            if (stats.count() > 0) {
+                report.append(String.format("  %-18s raw       %s%n", step, stats));
+                report.append(String.format("  %-18s corrected %s%n", "", corrected.get(step)));
+            }
+        });
+        return report.toString();
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.camunda.metrics;
+
+/**
+ * The timed steps of a demoProcess orchestration.
+ */
+public enum Step {
+    DEPLOY,
+    CREATE_INSTANCE,
+    /** From the create response until the user task is returned by the search API (exporter lag). */
+    TASK_VISIBLE,
+    ASSIGN,
+    COMPLETE,
+    /** From the complete response until the search API reports the instance as no longer active. */
+    INSTANCE_COMPLETED,
+    END_TO_END
+}
@@ -0,0 +1,196 @@
+package com.example.camunda.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records per-step latencies into HdrHistograms.
+ *
+ * <p>Recording is wait-free ({@link Recorder}) and safe from any number of threads. Intervals are
+ * folded into cumulative histograms whenever a snapshot is taken, so readers never block writers.
+ *
+ * <p>Every step keeps a raw and a corrected series. Raw latency is measured from when a step actually
+ * started; corrected latency from when it was supposed to start according to the load schedule, which
+ * accounts for coordinated omission when slow responses delay later requests. Steps recorded without a
+ * schedule get the same value in both series.
+ */
+public class StepMetrics implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(StepMetrics.class);
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<Step, Series> raw = new EnumMap<>(Step.class);
+    private final Map<Step, Series> corrected = new EnumMap<>(Step.class);
+    private ScheduledExecutorService reporter;
+
+    public StepMetrics() {
+        for (Step step : Step.values()) {
+            raw.put(step, new Series());
+            corrected.put(step, new Series());
+        }
+    }
+
+    /**
+     * Records the time elapsed since {@code startNanos}, a value previously read from {@link System#nanoTime()}.
+     */
+    public void recordSince(Step step, long startNanos) {
+        recordNanos(step, System.nanoTime() - startNanos);
+    }
+
+    public void recordNanos(Step step, long nanos) {
+        long micros = toMicros(nanos);
+        raw.get(step).recorder.recordValue(micros);
+        corrected.get(step).recorder.recordValue(micros);
+    }
+
+    /**
+     * Records a step that was scheduled to start at {@code intendedStartNanos} but started at
+     * {@code actualStartNanos}; all values are {@link System#nanoTime()} readings.
+     */
+    public void recordScheduled(Step step, long intendedStartNanos, long actualStartNanos, long endNanos) {
+        raw.get(step).recorder.recordValue(toMicros(endNanos - actualStartNanos));
+        corrected.get(step).recorder.recordValue(toMicros(endNanos - Math.min(intendedStartNanos, actualStartNanos)));
+    }
+
+    /**
+     * Returns a copy of the cumulative raw histogram of a step, values in microseconds.
+     */
+    public synchronized Histogram histogram(Step step) {
+        drain();
+        return raw.get(step).cumulative.copy();
+    }
+
+    /**
+     * Returns a copy of the cumulative corrected histogram of a step, values in microseconds.
+     */
+    public synchronized Histogram correctedHistogram(Step step) {
+        drain();
+        return corrected.get(step).cumulative.copy();
+    }
+
+    public synchronized Map<Step, StepStats> snapshot() {
+        drain();
+        return stats(raw);
+    }
+
+    public synchronized Map<Step, StepStats> correctedSnapshot() {
+        drain();
+        return stats(corrected);
+    }
+
+    public synchronized void reset() {
+        drain();
+        raw.values().forEach(series -> series.cumulative.reset());
+        corrected.values().forEach(series -> series.cumulative.reset());
+    }
+
+    /**
+     * Writes the raw and corrected histogram of every step that has values to
+     * {@code <directory>/<step>-raw.hlog} and {@code <step>-corrected.hlog}, in HdrHistogram log format.
+     */
+    public synchronized void writeHistograms(Path directory) throws IOException {
+        drain();
+        Files.createDirectories(directory);
+        for (Step step : Step.values()) {
+            if (raw.get(step).cumulative.getTotalCount() == 0) {
+                continue;
+            }
+            String name = step.name().toLowerCase(Locale.ROOT);
+            write(directory.resolve(name + "-raw.hlog"), raw.get(step).cumulative);
+            write(directory.resolve(name + "-corrected.hlog"), corrected.get(step).cumulative);
+        }
+    }
+
+    /**
+     * Logs a summary of every step that has recorded values, every {@code interval}, until closed.
+     */
+    public synchronized void startReporting(Duration interval) {
+        if (reporter != null) {
+            throw new IllegalStateException("Reporting already started");
+        }
+        reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "step-metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(this::logSummary, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void logSummary() {
+        snapshot().forEach((step, stats) -> {
+            if (stats.count() > 0) {
+                log.info("{}: {}", step, stats);
+            }
+        });
+    }
+
+    @Override
+    public synchronized void close() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+            reporter = null;
+        }
+    }
+
+    static StepStats stats(Histogram histogram) {
+        return new StepStats(
+                histogram.getTotalCount(),
+                histogram.getMean(),
+                histogram.getValueAtPercentile(50.0),
+                histogram.getValueAtPercentile(99.0),
+                histogram.getValueAtPercentile(99.9),
+                histogram.getMaxValue());
+    }
+
+    private static Map<Step, StepStats> stats(Map<Step, Series> series) {
+        Map<Step, StepStats> stats = new EnumMap<>(Step.class);
+        series.forEach((step, values) -> stats.put(step, stats(values.cumulative)));
+        return stats;
+    }
+
+    private static long toMicros(long nanos) {
+        return Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(0L, nanos / 1000));
+    }
+
+    private static void write(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            HistogramLogWriter writer = new HistogramLogWriter(out);
+            writer.outputLogFormatVersion();
+            writer.outputLegend();
+            writer.outputIntervalHistogram(histogram);
+        }
+    }
+
+    private void drain() {
+        raw.values().forEach(Series::drain);
+        corrected.values().forEach(Series::drain);
+    }
+
+    private static final class Series {
+
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final Histogram cumulative = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private Histogram recycled;
+
+        private void drain() {
+            recycled = recorder.getIntervalHistogram(recycled);
+            cumulative.add(recycled);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.camunda.metrics;
+
+/**
+ * Latency summary of one step, all values in microseconds.
+ */
+public record StepStats(long count, double mean, long p50, long p99, long p999, long max) {
+
+    @Override
+    public String toString() {
+        return String.format("count=%d mean=%.1fms p50=%.1fms p99=%.1fms p99.9=%.1fms max=%.1fms",
+                count, mean / 1000.0, p50 / 1000.0, p99 / 1000.0, p999 / 1000.0, max / 1000.0);
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.camunda.orchestration;
+
+import com.example.camunda.await.Awaiter;
+import com.example.camunda.metrics.Step;
+import com.example.camunda.metrics.StepMetrics;
+import io.camunda.client.CamundaClient;
+import io.camunda.client.api.search.enums.ProcessInstanceState;
+import io.camunda.client.api.search.response.ProcessInstance;
+import io.camunda.client.api.search.response.UserTask;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.example.camunda.orchestration.OrchestrationFlow.ASSIGNEE;
+import static com.example.camunda.orchestration.OrchestrationFlow.PROCESS_ID;
+import static com.example.camunda.orchestration.OrchestrationFlow.USER_TASK_ID;
+
+/**
+ * Non-blocking variant of {@link OrchestrationFlow}. Every stage is a network round trip composed
+ * on the previous one, so no thread is parked while an orchestration is in flight.
+ *
+ * <p>Each command is bounded by {@code commandTimeout}; the two visibility waits are bounded by
+ * their own timeouts and fail with {@link com.example.camunda.await.AwaitTimeoutException}.
+ */
+public class AsyncOrchestrationFlow {
+
+    private final CamundaClient client;
+    private final Awaiter awaiter;
+    private final Duration commandTimeout;
+    private final Duration taskTimeout;
+    private final Duration completionTimeout;
+    private final StepMetrics metrics;
+
+    public AsyncOrchestrationFlow(
+            CamundaClient client,
+            Awaiter awaiter,
+            Duration commandTimeout,
+            Duration taskTimeout,
+            Duration completionTimeout) {
+        this(client, awaiter, commandTimeout, taskTimeout, completionTimeout, new StepMetrics());
+    }
+
+    public AsyncOrchestrationFlow(
+            CamundaClient client,
+            Awaiter awaiter,
+            Duration commandTimeout,
+            Duration taskTimeout,
+            Duration completionTimeout,
+            StepMetrics metrics) {
+        this.client = client;
+        this.awaiter = awaiter;
+        this.commandTimeout = commandTimeout;
+        this.taskTimeout = taskTimeout;
+        this.completionTimeout = completionTimeout;
+        this.metrics = metrics;
+    }
+
+    public StepMetrics metrics() {
+        return metrics;
+    }
+
+    public CompletableFuture<OrchestrationResult> run() {
+        return run(System.nanoTime());
+    }
+
+    /**
+     * Like {@link OrchestrationFlow#run(long)}, create and end-to-end latency are also recorded from the
+     * intended start.
+     */
+    public CompletableFuture<OrchestrationResult> run(long intendedStartNanos) {
+        long start = System.nanoTime();
+        return createInstance()
+                .thenApply(processInstanceKey -> {
+                    metrics.recordScheduled(Step.CREATE_INSTANCE, intendedStartNanos, start, System.nanoTime());
+                    return processInstanceKey;
+                })
+                .thenCompose(processInstanceKey -> timed(Step.TASK_VISIBLE, () -> awaitUserTask(processInstanceKey))
+                        .thenCompose(userTaskKey -> timed(Step.ASSIGN, () -> assign(userTaskKey))
+                                .thenCompose(ignored -> timed(Step.COMPLETE, () -> complete(userTaskKey)))
+                                .thenCompose(ignored -> timed(Step.INSTANCE_COMPLETED, () -> awaitCompletion(processInstanceKey)))
+                                .thenApply(state -> {
+                                    metrics.recordScheduled(Step.END_TO_END, intendedStartNanos, start, System.nanoTime());
+                                    return new OrchestrationResult(processInstanceKey, userTaskKey, state);
+                                })));
+    }
+
+    private <T> CompletableFuture<T> timed(Step step, Supplier<CompletableFuture<T>> stage) {
+        long start = System.nanoTime();
+        return stage.get().whenComplete((value, failure) -> {
+            if (failure == null) {
+                metrics.recordSince(step, start);
+            }
+        });
+    }
+
+    private CompletableFuture<Long> createInstance() {
+        return withTimeout(client.newCreateInstanceCommand()
+                .bpmnProcessId(PROCESS_ID)
+                .latestVersion()
+                .requestTimeout(commandTimeout)
+                .send()
+                .toCompletableFuture())
+                .thenApply(instance -> instance.getProcessInstanceKey());
+    }
+
+    private CompletableFuture<Long> awaitUserTask(long processInstanceKey) {
+        return awaiter.awaitAsync(
+                        "user task " + USER_TASK_ID + " of process instance " + processInstanceKey,
+                        () -> withTimeout(client.newUserTaskSearchRequest()
+                                .filter(userTaskFilter -> userTaskFilter
+                                        .processInstanceKey(processInstanceKey)
+                                        .elementId(USER_TASK_ID))
+                                .send()
+                                .toCompletableFuture())
+                                .thenApply(response -> response.items().stream().findFirst()),
+                        taskTimeout)
+                .thenApply(UserTask::getUserTaskKey);
+    }
+
+    private CompletableFuture<?> assign(long userTaskKey) {
+        return withTimeout(client.newAssignUserTaskCommand(userTaskKey)
+                .assignee(ASSIGNEE)
+                .requestTimeout(commandTimeout)
+                .send()
+                .toCompletableFuture());
+    }
+
+    private CompletableFuture<?> complete(long userTaskKey) {
+        return withTimeout(client.newCompleteUserTaskCommand(userTaskKey)
+                .requestTimeout(commandTimeout)
+                .send()
+                .toCompletableFuture());
+    }
+
+    private CompletableFuture<ProcessInstanceState> awaitCompletion(long processInstanceKey) {
+        return awaiter.awaitAsync(
+                        "process instance " + processInstanceKey + " to complete",
+                        () -> withTimeout(client.newProcessInstanceSearchRequest()
+                                .filter(processInstanceFilter -> processInstanceFilter.processInstanceKey(processInstanceKey))
+                                .send()
+                                .toCompletableFuture())
+                                .thenApply(response -> response.items().stream()
+                                        .filter(candidate -> candidate.getState() != ProcessInstanceState.ACTIVE)
+                                        .findFirst()),
+                        completionTimeout)
+                .thenApply(ProcessInstance::getState);
+    }
+
+    // The client enforces the request timeout as well; this guards against a stage that never completes
+    private <T> CompletableFuture<T> withTimeout(CompletableFuture<T> stage) {
+        return stage.orTimeout(commandTimeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+}
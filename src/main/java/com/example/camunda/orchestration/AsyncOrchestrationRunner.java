@@ -0,0 +1,106 @@
+package com.example.camunda.orchestration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps up to {@code maxInFlight} {@link AsyncOrchestrationFlow}s running without dedicating a thread
+ * to any of them: whenever one finishes, the next one is started from its completion callback.
+ *
+ * <p>Orchestrations that complete synchronously, e.g. by failing before their first request, would start
+ * the next one from inside {@code startNext} again; such starts are queued and run by a loop in the
+ * outermost call instead, so the stack does not grow with the number of orchestrations.
+ */
+public class AsyncOrchestrationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncOrchestrationRunner.class);
+
+    private final AsyncOrchestrationFlow flow;
+    private final int maxInFlight;
+
+    public AsyncOrchestrationRunner(AsyncOrchestrationFlow flow, int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+        }
+        this.flow = flow;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public CompletableFuture<RunSummary> run(long total) {
+        CompletableFuture<RunSummary> done = new CompletableFuture<>();
+        if (total <= 0) {
+            done.complete(new RunSummary(0, 0, Duration.ZERO));
+            return done;
+        }
+
+        Run run = new Run(total, System.nanoTime(), done);
+        for (int i = 0; i < Math.min(maxInFlight, total); i++) {
+            run.startNext();
+        }
+        return done;
+    }
+
+    private final class Run {
+
+        private final long total;
+        private final long startNanos;
+        private final CompletableFuture<RunSummary> done;
+        private final AtomicLong started = new AtomicLong();
+        private final AtomicLong finished = new AtomicLong();
+        private final AtomicInteger pendingStarts = new AtomicInteger();
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        private Run(long total, long startNanos, CompletableFuture<RunSummary> done) {
+            this.total = total;
+            this.startNanos = startNanos;
+            this.done = done;
+        }
+
+        private void startNext() {
+            if (pendingStarts.getAndIncrement() > 0) {
+                // a caller further up the stack, or on another thread, is in the loop below and starts it
+                return;
+            }
+            do {
+                startOne();
+            } while (pendingStarts.decrementAndGet() > 0);
+        }
+
+        private void startOne() {
+            if (started.getAndIncrement() >= total) {
+                return;
+            }
+            CompletableFuture<OrchestrationResult> orchestration;
+            try {
+                orchestration = flow.run();
+            } catch (RuntimeException e) {
+                orchestration = CompletableFuture.failedFuture(e);
+            }
+            orchestration.whenComplete((result, failure) -> {
+                if (failure == null) {
+                    succeeded.increment();
+                } else {
+                    failed.increment();
+                    log.warn("Orchestration failed", failure);
+                }
+                if (finished.incrementAndGet() == total) {
+                    RunSummary summary = new RunSummary(
+                            succeeded.sum(), failed.sum(), Duration.ofNanos(System.nanoTime() - startNanos));
+                    log.info("Finished {} orchestrations ({} failed) in {} ms, {} per second",
+                            summary.total(), summary.failed(), summary.elapsed().toMillis(),
+                            String.format("%.1f", summary.throughputPerSecond()));
+                    done.complete(summary);
+                } else {
+                    startNext();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.camunda.orchestration;
+
+import com.example.camunda.await.Awaiter;
+import com.example.camunda.client.ClientErrors;
+import com.example.camunda.client.TransportRouting;
+import com.example.camunda.limit.AdaptiveConcurrencyLimiter;
+import com.example.camunda.metrics.Step;
+import com.example.camunda.metrics.StepMetrics;
+import com.example.camunda.retry.RetryPolicy;
+import io.camunda.client.CamundaClient;
+import io.camunda.client.api.response.ProcessInstanceEvent;
+import io.camunda.client.api.search.enums.ProcessInstanceState;
+import io.camunda.client.api.search.response.ProcessInstance;
+import io.camunda.client.api.search.response.UserTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * The blocking create → find task → assign → complete → verify flow for one demoProcess instance.
+ * A flow holds no per-instance state and can be run concurrently from many threads.
+ */
+public class OrchestrationFlow {
+
+    public static final String PROCESS_ID = "demoProcess";
+    public static final String USER_TASK_ID = "userTask_1";
+    public static final String ASSIGNEE = "demo";
+
+    private static final Logger log = LoggerFactory.getLogger(OrchestrationFlow.class);
+
+    private final CamundaClient client;
+    private final Awaiter awaiter;
+    private final Duration taskTimeout;
+    private final Duration completionTimeout;
+    private final StepMetrics metrics;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final RetryPolicy retryPolicy;
+    private final TransportRouting routing;
+
+    public OrchestrationFlow(CamundaClient client, Awaiter awaiter, Duration taskTimeout, Duration completionTimeout) {
+        this(client, awaiter, taskTimeout, completionTimeout, new StepMetrics());
+    }
+
+    public OrchestrationFlow(CamundaClient client, Awaiter awaiter, Duration taskTimeout, Duration completionTimeout,
+                             StepMetrics metrics) {
+        this(builder(client).awaiter(awaiter).taskTimeout(taskTimeout).completionTimeout(completionTimeout).metrics(metrics));
+    }
+
+    private OrchestrationFlow(Builder builder) {
+        this.client = builder.client;
+        this.awaiter = builder.awaiter;
+        this.taskTimeout = builder.taskTimeout;
+        this.completionTimeout = builder.completionTimeout;
+        this.metrics = builder.metrics;
+        this.limiter = builder.limiter;
+        this.retryPolicy = builder.retryPolicy;
+        this.routing = builder.routing;
+    }
+
+    public static Builder builder(CamundaClient client) {
+        return new Builder(client);
+    }
+
+    public StepMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns a flow with the same client and settings that records its latencies into {@code metrics}.
+     */
+    public OrchestrationFlow withMetrics(StepMetrics metrics) {
+        return builder(client)
+                .awaiter(awaiter)
+                .taskTimeout(taskTimeout)
+                .completionTimeout(completionTimeout)
+                .metrics(metrics)
+                .limiter(limiter)
+                .retryPolicy(retryPolicy)
+                .routing(routing)
+                .build();
+    }
+
+    public OrchestrationResult run() throws InterruptedException {
+        return run(System.nanoTime());
+    }
+
+    /**
+     * Runs the flow, recording create and end-to-end latency also from {@code intendedStartNanos}, the
+     * {@link System#nanoTime()} at which a load schedule wanted this orchestration to start.
+     */
+    public OrchestrationResult run(long intendedStartNanos) throws InterruptedException {
+        long start = System.nanoTime();
+
+        // Start a process instance
+        ProcessInstanceEvent instance = command(() -> routing.apply(TransportRouting.Operation.CREATE_INSTANCE,
+                        client.newCreateInstanceCommand()
+                                .bpmnProcessId(PROCESS_ID)
+                                .latestVersion())
+                .send()
+                .join());
+        long created = System.nanoTime();
+        metrics.recordScheduled(Step.CREATE_INSTANCE, intendedStartNanos, start, created);
+        long processInstanceKey = instance.getProcessInstanceKey();
+        log.debug("Process instance started: {}", processInstanceKey);
+
+        // Wait for the task to become visible in the search API
+        UserTask task = awaiter.await(
+                "user task " + USER_TASK_ID + " of process instance " + processInstanceKey,
+                () -> client.newUserTaskSearchRequest()
+                        .filter(userTaskFilter -> userTaskFilter
+                                .processInstanceKey(processInstanceKey)
+                                .elementId(USER_TASK_ID))
+                        .send()
+                        .join()
+                        .items()
+                        .stream()
+                        .findFirst(),
+                taskTimeout);
+        metrics.recordSince(Step.TASK_VISIBLE, created);
+        long userTaskKey = task.getUserTaskKey();
+        log.debug("User task found: {}", userTaskKey);
+
+        // Assign the user task to a user
+        long assignStart = System.nanoTime();
+        retryPolicy.call("assign user task " + userTaskKey,
+                () -> command(() -> client.newAssignUserTaskCommand(userTaskKey)
+                        .assignee(ASSIGNEE)
+                        .send()
+                        .join()));
+        metrics.recordSince(Step.ASSIGN, assignStart);
+        log.debug("User task assigned to '{}': {}", ASSIGNEE, userTaskKey);
+
+        // Complete the user task
+        long completeStart = System.nanoTime();
+        // A task that is gone when the completion is retried was completed by an earlier attempt
+        retryPolicy.call("complete user task " + userTaskKey,
+                () -> command(() -> client.newCompleteUserTaskCommand(userTaskKey)
+                        .send()
+                        .join()),
+                ClientErrors::isNotFound);
+        long completed = System.nanoTime();
+        metrics.recordNanos(Step.COMPLETE, completed - completeStart);
+        log.debug("User task completed: {}", userTaskKey);
+
+        // Wait for the process instance to leave the active state
+        ProcessInstance processInstance = awaiter.await(
+                "process instance " + processInstanceKey + " to complete",
+                () -> client.newProcessInstanceSearchRequest()
+                        .filter(processInstanceFilter -> processInstanceFilter.processInstanceKey(processInstanceKey))
+                        .send()
+                        .join()
+                        .items()
+                        .stream()
+                        .filter(candidate -> candidate.getState() != ProcessInstanceState.ACTIVE)
+                        .findFirst(),
+                completionTimeout);
+        long finished = System.nanoTime();
+        metrics.recordNanos(Step.INSTANCE_COMPLETED, finished - completed);
+        metrics.recordScheduled(Step.END_TO_END, intendedStartNanos, start, finished);
+        log.debug("Process instance state: {}", processInstance.getState());
+
+        return new OrchestrationResult(processInstanceKey, userTaskKey, processInstance.getState());
+    }
+
+    private <T> T command(Supplier<T> command) throws InterruptedException {
+        return limiter == null ? command.get() : limiter.call(command);
+    }
+
+    public static final class Builder {
+
+        private final CamundaClient client;
+        private Awaiter awaiter = Awaiter.withDefaults();
+        private Duration taskTimeout = Duration.ofSeconds(30);
+        private Duration completionTimeout = Duration.ofSeconds(30);
+        private StepMetrics metrics;
+        private AdaptiveConcurrencyLimiter limiter;
+        private RetryPolicy retryPolicy = RetryPolicy.withDefaults();
+        private TransportRouting routing = TransportRouting.clientDefault();
+
+        private Builder(CamundaClient client) {
+            this.client = client;
+        }
+
+        public Builder awaiter(Awaiter awaiter) {
+            this.awaiter = awaiter;
+            return this;
+        }
+
+        public Builder taskTimeout(Duration taskTimeout) {
+            this.taskTimeout = taskTimeout;
+            return this;
+        }
+
+        public Builder completionTimeout(Duration completionTimeout) {
+            this.completionTimeout = completionTimeout;
+            return this;
+        }
+
+        public Builder metrics(StepMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        /**
+         * Runs the create, assign and complete commands through the given limiter; searches are not limited.
+         */
+        public Builder limiter(AdaptiveConcurrencyLimiter limiter) {
+            this.limiter = limiter;
+            return this;
+        }
+
+        /**
+         * Retries transient failures of the assign and complete commands; each attempt goes through the limiter.
+         */
+        public Builder retryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        /**
+         * Chooses the transport of the create command; the other calls of the flow are REST only.
+         */
+        public Builder routing(TransportRouting routing) {
+            this.routing = routing;
+            return this;
+        }
+
+        public OrchestrationFlow build() {
+            if (metrics == null) {
+                metrics = new StepMetrics();
+            }
+            return new OrchestrationFlow(this);
+        }
+    }
+}
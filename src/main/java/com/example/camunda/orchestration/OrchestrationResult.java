@@ -0,0 +1,9 @@
+package com.example.camunda.orchestration;
+
+import io.camunda.client.api.search.enums.ProcessInstanceState;
+
+/**
+ * Outcome of a single demoProcess orchestration.
+ */
+public record OrchestrationResult(long processInstanceKey, long userTaskKey, ProcessInstanceState finalState) {
+}
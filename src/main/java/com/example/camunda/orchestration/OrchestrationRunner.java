@@ -0,0 +1,63 @@
+package com.example.camunda.orchestration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs many {@link OrchestrationFlow}s concurrently, one virtual thread per in-flight orchestration.
+ * Concurrency is bounded by a semaphore so the shared client is never flooded beyond the configured limit.
+ */
+public class OrchestrationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(OrchestrationRunner.class);
+
+    private final OrchestrationFlow flow;
+    private final int concurrency;
+
+    public OrchestrationRunner(OrchestrationFlow flow, int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be positive: " + concurrency);
+        }
+        this.flow = flow;
+        this.concurrency = concurrency;
+    }
+
+    public RunSummary run(long total) throws InterruptedException {
+        Semaphore permits = new Semaphore(concurrency);
+        LongAdder succeeded = new LongAdder();
+        LongAdder failed = new LongAdder();
+        long start = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < total; i++) {
+                permits.acquire();
+                executor.execute(() -> {
+                    try {
+                        flow.run();
+                        succeeded.increment();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        failed.increment();
+                    } catch (RuntimeException e) {
+                        failed.increment();
+                        log.warn("Orchestration failed", e);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+
+        RunSummary summary = new RunSummary(succeeded.sum(), failed.sum(), Duration.ofNanos(System.nanoTime() - start));
+        log.info("Finished {} orchestrations ({} failed) in {} ms, {} per second",
+                summary.total(), summary.failed(), summary.elapsed().toMillis(),
+                String.format("%.1f", summary.throughputPerSecond()));
+        return summary;
+    }
+}
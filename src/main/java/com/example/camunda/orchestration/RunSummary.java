@@ -0,0 +1,18 @@
+package com.example.camunda.orchestration;
+
+import java.time.Duration;
+
+/**
+ * Aggregated outcome of an {@link OrchestrationRunner} run.
+ */
+public record RunSummary(long succeeded, long failed, Duration elapsed) {
+
+    public long total() {
+        return succeeded + failed;
+    }
+
+    public double throughputPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0.0 : total() * 1_000_000_000.0 / nanos;
+    }
+}
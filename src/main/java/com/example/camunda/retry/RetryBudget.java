@@ -0,0 +1,42 @@
+package com.example.camunda.retry;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps retries to a fraction of the calls made, so a failing dependency does not get multiplied load.
+ * Every call deposits {@code ratio} tokens, every retry withdraws one; the balance never exceeds
+ * {@code maxTokens} and starts full.
+ */
+public final class RetryBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long deposit;
+    private final long capacity;
+    private final AtomicLong tokens;
+
+    public RetryBudget(double ratio, int maxTokens) {
+        if (ratio < 0 || maxTokens < 0) {
+            throw new IllegalArgumentException("ratio and maxTokens must not be negative");
+        }
+        this.deposit = (long) (ratio * SCALE);
+        this.capacity = maxTokens * SCALE;
+        this.tokens = new AtomicLong(capacity);
+    }
+
+    void onCall() {
+        tokens.accumulateAndGet(deposit, (current, added) -> Math.min(capacity, current + added));
+    }
+
+    boolean tryRetry() {
+        while (true) {
+            long current = tokens.get();
+            if (current < SCALE) {
+                return false;
+            }
+            if (tokens.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.camunda.retry;
+
+import com.example.camunda.await.Backoff;
+import com.example.camunda.client.ClientErrors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Retries transient command failures with exponential backoff and jitter, within a shared {@link RetryBudget}.
+ *
+ * <p>Only failures classified as retryable by {@link ClientErrors#isRetryable} are retried. For commands
+ * that may have been applied by an attempt whose response was lost, an {@code alreadyApplied} predicate
+ * turns the rejection of a later attempt (e.g. completing a task that is gone) into success.
+ */
+public final class RetryPolicy {
+
+    private static final Logger log = LoggerFactory.getLogger(RetryPolicy.class);
+
+    private final int maxAttempts;
+    private final Backoff backoff;
+    private final RetryBudget budget;
+
+    public RetryPolicy(int maxAttempts, Backoff backoff, RetryBudget budget) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be positive: " + maxAttempts);
+        }
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+        this.budget = budget;
+    }
+
+    public static RetryPolicy withDefaults() {
+        return new RetryPolicy(5, Backoff.exponential(Duration.ofMillis(100), Duration.ofSeconds(5)),
+                new RetryBudget(0.2, 100));
+    }
+
+    public <T> T call(String operation, Command<T> command) throws InterruptedException {
+        return call(operation, command, failure -> false);
+    }
+
+    /**
+     * Runs the command, retrying it on transient failures.
+     *
+     * @param alreadyApplied consulted for failures of retries only; if it matches, the earlier attempt is
+     *                       taken to have succeeded and {@code null} is returned
+     */
+    public <T> T call(String operation, Command<T> command, Predicate<Throwable> alreadyApplied)
+            throws InterruptedException {
+        budget.onCall();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return command.run();
+            } catch (RuntimeException e) {
+                if (attempt > 1 && alreadyApplied.test(e)) {
+                    log.debug("{} was already applied by an earlier attempt", operation);
+                    return null;
+                }
+                if (attempt >= maxAttempts || !ClientErrors.isRetryable(e)) {
+                    throw e;
+                }
+                if (!budget.tryRetry()) {
+                    log.debug("Retry budget exhausted, not retrying {}", operation);
+                    throw e;
+                }
+                long delay = backoff.delayNanos(attempt - 1);
+                log.debug("{} failed (attempt {}/{}), retrying in {} ms",
+                        operation, attempt, maxAttempts, TimeUnit.NANOSECONDS.toMillis(delay), e);
+                TimeUnit.NANOSECONDS.sleep(delay);
+            }
+        }
+    }
+
+    /**
+     * A single attempt of a command; may block, e.g. in a concurrency limiter.
+     */
+    @FunctionalInterface
+    public interface Command<T> {
+        T run() throws InterruptedException;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.camunda.search;
+
+import io.camunda.client.CamundaClient;
+import io.camunda.client.api.search.response.ProcessInstance;
+import io.camunda.client.api.search.response.SearchResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Looks up process instances by key, combining lookups from many callers into one search.
+ *
+ * <p>The first lookup of a batch opens a window of {@code linger}; every lookup arriving within it joins
+ * the batch, which is sent as a single search with a {@code $in} filter once the window closes or
+ * {@code maxBatchSize} distinct keys are collected. Results are handed back to each waiting caller.
+ * If the search cannot be sent, or the lookup is closed before the batch is sent, every caller of the
+ * batch gets the failure.
+ */
+public class BatchingProcessInstanceLookup implements AutoCloseable {
+
+    private final CamundaClient client;
+    private final long lingerNanos;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+    private Map<Long, List<CompletableFuture<Optional<ProcessInstance>>>> pending = new HashMap<>();
+    private boolean closed;
+
+    public BatchingProcessInstanceLookup(CamundaClient client, Duration linger, int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("maxBatchSize must be positive: " + maxBatchSize);
+        }
+        this.client = client;
+        this.lingerNanos = linger.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "process-instance-lookup");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the instance, or an empty optional if the search does not (yet) know it.
+     */
+    public CompletableFuture<Optional<ProcessInstance>> lookup(long processInstanceKey) {
+        CompletableFuture<Optional<ProcessInstance>> result = new CompletableFuture<>();
+        Map<Long, List<CompletableFuture<Optional<ProcessInstance>>>> full = null;
+        synchronized (this) {
+            if (closed) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Process instance lookup is closed"));
+            }
+            Map<Long, List<CompletableFuture<Optional<ProcessInstance>>>> batch = pending;
+            if (batch.isEmpty()) {
+                scheduler.schedule(() -> flush(batch), lingerNanos, TimeUnit.NANOSECONDS);
+            }
+            batch.computeIfAbsent(processInstanceKey, key -> new ArrayList<>(1)).add(result);
+            if (batch.size() >= maxBatchSize) {
+                full = batch;
+                pending = new HashMap<>();
+            }
+        }
+        if (full != null) {
+            send(full);
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        Map<Long, List<CompletableFuture<Optional<ProcessInstance>>>> unsent;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            unsent = pending;
+            pending = new HashMap<>();
+        }
+        scheduler.shutdownNow();
+        fail(unsent, new IllegalStateException("Process instance lookup closed before the batch was sent"));
+    }
+
+    private void flush(Map<Long, List<CompletableFuture<Optional<ProcessInstance>>>> batch) {
+        synchronized (this) {
+            if (pending != batch) {
+                // already sent because it reached the maximum size
+                return;
+            }
+            pending = new HashMap<>();
+        }
+        send(batch);
+    }
+
+    private void send(Map<Long, List<CompletableFuture<Optional<ProcessInstance>>>> batch) {
+        List<Long> keys = List.copyOf(batch.keySet());
+        CompletionStage<SearchResponse<ProcessInstance>> search;
+        try {
+            search = client.newProcessInstanceSearchRequest()
+                    .filter(filter -> filter.processInstanceKey(key -> key.in(keys)))
+                    .page(page -> page.limit(keys.size()))
+                    .send();
+        } catch (RuntimeException e) {
+            fail(batch, e);
+            return;
+        }
+        search.whenComplete((response, failure) -> {
+            if (failure != null) {
+                fail(batch, failure);
+                return;
+            }
+            for (ProcessInstance instance : response.items()) {
+                List<CompletableFuture<Optional<ProcessInstance>>> waiting =
+                        batch.remove(instance.getProcessInstanceKey());
+                if (waiting != null) {
+                    waiting.forEach(future -> future.complete(Optional.of(instance)));
+                }
+            }
+            batch.values().forEach(waiting -> waiting.forEach(future -> future.complete(Optional.empty())));
+        });
+    }
+
+    private static void fail(Map<Long, List<CompletableFuture<Optional<ProcessInstance>>>> batch, Throwable failure) {
+        batch.values().forEach(waiting -> waiting.forEach(future -> future.completeExceptionally(failure)));
+    }
+}
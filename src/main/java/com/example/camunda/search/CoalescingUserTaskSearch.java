@@ -0,0 +1,52 @@
+package com.example.camunda.search;
+
+import io.camunda.client.CamundaClient;
+import io.camunda.client.api.search.enums.UserTaskState;
+import io.camunda.client.api.search.response.UserTask;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * User task searches by process instance in which identical concurrent searches share one request.
+ * Useful when retries or UI refreshes make many callers wait for the tasks of the same instance.
+ */
+public class CoalescingUserTaskSearch {
+
+    private final CamundaClient client;
+    private final SingleFlight<Query, List<UserTask>> searches = new SingleFlight<>();
+
+    public CoalescingUserTaskSearch(CamundaClient client) {
+        this.client = client;
+    }
+
+    public CompletableFuture<List<UserTask>> byProcessInstance(long processInstanceKey) {
+        return search(new Query(processInstanceKey, null, null));
+    }
+
+    public CompletableFuture<List<UserTask>> byProcessInstance(long processInstanceKey, String elementId) {
+        return search(new Query(processInstanceKey, elementId, null));
+    }
+
+    public CompletableFuture<List<UserTask>> search(Query query) {
+        return searches.execute(query, () -> client.newUserTaskSearchRequest()
+                .filter(filter -> {
+                    filter.processInstanceKey(query.processInstanceKey());
+                    if (query.elementId() != null) {
+                        filter.elementId(query.elementId());
+                    }
+                    if (query.state() != null) {
+                        filter.state(query.state());
+                    }
+                })
+                .send()
+                .thenApply(response -> response.items()));
+    }
+
+    /**
+     * Identity of a search; searches with equal queries are coalesced. {@code elementId} and {@code state}
+     * are optional.
+     */
+    public record Query(long processInstanceKey, String elementId, UserTaskState state) {
+    }
+}
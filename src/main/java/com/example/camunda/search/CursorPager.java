@@ -0,0 +1,117 @@
+package com.example.camunda.search;
+
+import io.camunda.client.CamundaClient;
+import io.camunda.client.api.search.filter.ProcessInstanceFilter;
+import io.camunda.client.api.search.filter.UserTaskFilter;
+import io.camunda.client.api.search.response.ProcessInstance;
+import io.camunda.client.api.search.response.SearchResponse;
+import io.camunda.client.api.search.response.UserTask;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazily iterates a search result page by page, following the {@code endCursor} of each page.
+ *
+ * <p>As soon as a full page arrives, the request for the next page is sent, so the network round trip
+ * overlaps with the caller processing the current page. At most two pages are held in memory.
+ * Instances are not thread-safe.
+ */
+public final class CursorPager<T> implements Iterator<T> {
+
+    private final Function<String, CompletionStage<SearchResponse<T>>> fetchPage;
+    private final int pageSize;
+
+    private Iterator<T> current = List.<T>of().iterator();
+    private CompletableFuture<SearchResponse<T>> next;
+
+    /**
+     * @param fetchPage sends the search for the page after the given cursor ({@code null} for the first page)
+     */
+    public CursorPager(Function<String, CompletionStage<SearchResponse<T>>> fetchPage, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be positive: " + pageSize);
+        }
+        this.fetchPage = fetchPage;
+        this.pageSize = pageSize;
+        this.next = fetchPage.apply(null).toCompletableFuture();
+    }
+
+    public static Stream<UserTask> userTasks(CamundaClient client, Consumer<UserTaskFilter> filter, int pageSize) {
+        return new CursorPager<UserTask>(
+                cursor -> client.newUserTaskSearchRequest()
+                        .filter(filter)
+                        .page(page -> {
+                            page.limit(pageSize);
+                            if (cursor != null) {
+                                page.after(cursor);
+                            }
+                        })
+                        .send(),
+                pageSize)
+                .stream();
+    }
+
+    public static Stream<ProcessInstance> processInstances(
+            CamundaClient client, Consumer<ProcessInstanceFilter> filter, int pageSize) {
+        return new CursorPager<ProcessInstance>(
+                cursor -> client.newProcessInstanceSearchRequest()
+                        .filter(filter)
+                        .page(page -> {
+                            page.limit(pageSize);
+                            if (cursor != null) {
+                                page.after(cursor);
+                            }
+                        })
+                        .send(),
+                pageSize)
+                .stream();
+    }
+
+    public Stream<T> stream() {
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(this::cancel);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (next == null) {
+                return false;
+            }
+            SearchResponse<T> page = next.join();
+            next = null;
+            List<T> items = page.items();
+            String endCursor = page.page() == null ? null : page.page().endCursor();
+            if (items.size() >= pageSize && endCursor != null) {
+                next = fetchPage.apply(endCursor).toCompletableFuture();
+            }
+            current = items.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    private void cancel() {
+        if (next != null) {
+            next.cancel(false);
+            next = null;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.camunda.search;
+
+import io.camunda.client.CamundaClient;
+import io.camunda.client.api.search.enums.ProcessInstanceState;
+import io.camunda.client.api.search.response.ProcessInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local cache of process instance states, refreshed in bulk instead of with one search per instance.
+ *
+ * <p>A refresh only asks for instances that can still change, i.e. tracked instances that are not yet
+ * known to be completed or terminated, with one search per {@code batchSize} keys. Entries expire
+ * {@code ttl} after they were last read or tracked, and the least recently used entry is evicted once
+ * {@code maxEntries} is exceeded. Refreshing does not count as use. An entry whose {@link #whenTerminal}
+ * future has not completed yet is neither expired nor evicted, however long the instance stays active,
+ * so the cache can hold more than {@code maxEntries} entries while that many instances are awaited.
+ */
+public class ProcessInstanceStateCache implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ProcessInstanceStateCache.class);
+
+    private final CamundaClient client;
+    private final int batchSize;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private ScheduledExecutorService refresher;
+
+    public ProcessInstanceStateCache(CamundaClient client, int batchSize, Duration ttl, int maxEntries) {
+        if (batchSize < 1 || maxEntries < 1) {
+            throw new IllegalArgumentException("batchSize and maxEntries must be positive");
+        }
+        this.client = client;
+        this.batchSize = batchSize;
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Starts tracking an instance; its state is fetched with the next refresh.
+     */
+    public synchronized void track(long processInstanceKey) {
+        entries.computeIfAbsent(processInstanceKey, key -> new Entry()).touch();
+        evictOverflow();
+    }
+
+    /**
+     * Returns the last refreshed state, or empty if the instance is untracked or not yet seen.
+     */
+    public synchronized Optional<ProcessInstanceState> state(long processInstanceKey) {
+        Entry entry = entries.get(processInstanceKey);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        entry.touch();
+        return Optional.ofNullable(entry.state);
+    }
+
+    /**
+     * Tracks the instance and returns a future that completes once a refresh sees it completed or terminated.
+     */
+    public synchronized CompletableFuture<ProcessInstanceState> whenTerminal(long processInstanceKey) {
+        track(processInstanceKey);
+        Entry entry = entries.get(processInstanceKey);
+        entry.awaited = true;
+        return entry.terminal;
+    }
+
+    /**
+     * Fetches the state of every tracked instance that is not terminal yet, {@code batchSize} keys per search.
+     */
+    public void refresh() {
+        // looked up here rather than in entries, whose get() would reorder the LRU by refresh order
+        Map<Long, Entry> pending = new HashMap<>();
+        synchronized (this) {
+            evictExpired();
+            entries.forEach((key, entry) -> {
+                if (!entry.isTerminal()) {
+                    pending.put(key, entry);
+                }
+            });
+        }
+
+        List<Long> keys = new ArrayList<>(pending.keySet());
+        for (int from = 0; from < keys.size(); from += batchSize) {
+            List<Long> batch = keys.subList(from, Math.min(from + batchSize, keys.size()));
+            List<ProcessInstance> instances = client.newProcessInstanceSearchRequest()
+                    .filter(filter -> filter.processInstanceKey(key -> key.in(batch)))
+                    .page(page -> page.limit(batch.size()))
+                    .send()
+                    .join()
+                    .items();
+            synchronized (this) {
+                for (ProcessInstance instance : instances) {
+                    Entry entry = pending.get(instance.getProcessInstanceKey());
+                    if (entry != null) {
+                        entry.update(instance.getState());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Refreshes every {@code interval} on a background thread until closed.
+     */
+    public synchronized void startRefreshing(Duration interval) {
+        if (refresher != null) {
+            throw new IllegalStateException("Refreshing already started");
+        }
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "process-instance-state-cache");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException e) {
+                log.warn("Process instance state refresh failed", e);
+            }
+        }, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+            refresher = null;
+        }
+    }
+
+    private void evictExpired() {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<Long, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next().getValue();
+            if (now - entry.lastAccess > ttlNanos && !entry.hasWaiters()) {
+                entry.terminal.cancel(false);
+                iterator.remove();
+            }
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<Long, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            Entry entry = iterator.next().getValue();
+            if (!entry.hasWaiters()) {
+                entry.terminal.cancel(false);
+                iterator.remove();
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final CompletableFuture<ProcessInstanceState> terminal = new CompletableFuture<>();
+        private ProcessInstanceState state;
+        private long lastAccess;
+        private boolean awaited;
+
+        private void touch() {
+            lastAccess = System.nanoTime();
+        }
+
+        private boolean hasWaiters() {
+            return awaited && !terminal.isDone();
+        }
+
+        private boolean isTerminal() {
+            return state != null && state != ProcessInstanceState.ACTIVE;
+        }
+
+        private void update(ProcessInstanceState newState) {
+            state = newState;
+            if (isTerminal()) {
+                terminal.complete(newState);
+            }
+        }
+    }
+}
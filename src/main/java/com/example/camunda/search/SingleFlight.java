@@ -0,0 +1,51 @@
+package com.example.camunda.search;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key: while a call is in flight, callers asking for the same key
+ * share its result instead of starting their own. Nothing is cached; the first call after completion
+ * starts a new one.
+ *
+ * <p>Every caller gets its own dependent copy of the shared result, so one caller completing or cancelling
+ * its future does not affect the others or the call in flight.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    public CompletableFuture<V> execute(K key, Supplier<? extends CompletionStage<V>> call) {
+        CompletableFuture<V> placeholder = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, placeholder);
+        if (existing != null) {
+            return existing.copy();
+        }
+
+        CompletionStage<V> stage;
+        try {
+            stage = call.get();
+        } catch (RuntimeException e) {
+            inFlight.remove(key, placeholder);
+            placeholder.completeExceptionally(e);
+            return placeholder.copy();
+        }
+        stage.whenComplete((value, failure) -> {
+            // remove first, so a caller arriving after completion never gets a stale result
+            inFlight.remove(key, placeholder);
+            if (failure != null) {
+                placeholder.completeExceptionally(failure);
+            } else {
+                placeholder.complete(value);
+            }
+        });
+        return placeholder.copy();
+    }
+
+    public int inFlight() {
+        return inFlight.size();
+    }
+}
@@ -0,0 +1,504 @@
+package com.example.camunda.stub;
+
+import com.example.camunda.stub.StubState.Definition;
+import com.example.camunda.stub.StubState.Instance;
+import com.example.camunda.stub.StubState.Task;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Embeddable, in-process stand-in for the Camunda 8 REST endpoints used by the orchestration example:
+ * deploy, process definition lookup, create instance, user task search/assign/complete and process
+ * instance search.
+ *
+ * <p>Deployed processes follow the demoProcess shape: a started instance waits in its first user task
+ * and completes when that task is completed. Processes without a user task complete immediately.
+ * All state is held in concurrent maps; nothing is persisted. Searches and instance creation take no locks,
+ * while deployments are serialized and assign/complete lock the one task they change. Requests are served
+ * on virtual threads.
+ * Like a gateway with compression enabled, it accepts gzip request bodies and gzips JSON responses of
+ * 2 KiB or more for clients that accept it.
+ */
+public class CamundaStubServer implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(CamundaStubServer.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String TENANT = "<default>";
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MIN_COMPRESSED_RESPONSE = 2048;
+    private static final Pattern PROCESS_ID = Pattern.compile("<(?:\\w+:)?process\\s[^>]*?\\bid=\"([^\"]+)\"");
+    private static final Pattern USER_TASK_ID = Pattern.compile("<(?:\\w+:)?userTask\\s[^>]*?\\bid=\"([^\"]+)\"");
+    private static final Pattern FILE_NAME = Pattern.compile("filename=\"([^\"]+)\"");
+    private static final Pattern PROCESS_DEFINITION = Pattern.compile("/v2/process-definitions/(\\d+)");
+    private static final Pattern TASK_COMMAND = Pattern.compile("/v2/user-tasks/(\\d+)/(assignment|completion)");
+
+    private final StubState state;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final LongAdder requests = new LongAdder();
+
+    private CamundaStubServer(Duration exportDelay, int port) throws IOException {
+        state = new StubState(exportDelay.toNanos());
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 4096);
+        server.setExecutor(executor);
+        server.createContext("/v2/", this::handle);
+        server.start();
+        log.info("Camunda stub server listening on {}", restAddress());
+    }
+
+    public static CamundaStubServer start() throws IOException {
+        return start(Duration.ZERO);
+    }
+
+    /**
+     * @param exportDelay how long created entities and state changes take to become searchable
+     */
+    public static CamundaStubServer start(Duration exportDelay) throws IOException {
+        return new CamundaStubServer(exportDelay, 0);
+    }
+
+    public static CamundaStubServer start(Duration exportDelay, int port) throws IOException {
+        return new CamundaStubServer(exportDelay, port);
+    }
+
+    public URI restAddress() {
+        return URI.create("http://" + server.getAddress().getHostString() + ':' + server.getAddress().getPort());
+    }
+
+    public long requestCount() {
+        return requests.sum();
+    }
+
+    public int processInstanceCount() {
+        return state.instances.size();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.increment();
+        try (exchange) {
+            try {
+                route(exchange);
+            } catch (JsonProcessingException | ZipException e) {
+                problem(exchange, 400, "INVALID_ARGUMENT", "Malformed request body: " + e.getMessage());
+            } catch (RuntimeException e) {
+                log.warn("Stub request failed", e);
+                problem(exchange, 500, "INTERNAL_SERVER_ERROR", String.valueOf(e.getMessage()));
+            }
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        Matcher processDefinition = PROCESS_DEFINITION.matcher(path);
+        if ("GET".equals(exchange.getRequestMethod()) && processDefinition.matches()) {
+            getProcessDefinition(exchange, Long.parseLong(processDefinition.group(1)));
+            return;
+        }
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            problem(exchange, 405, "METHOD_NOT_ALLOWED", exchange.getRequestMethod() + " " + path);
+            return;
+        }
+        Matcher taskCommand = TASK_COMMAND.matcher(path);
+        switch (path) {
+            case "/v2/deployments" -> deploy(exchange);
+            case "/v2/process-instances" -> createInstance(exchange, readJson(exchange));
+            case "/v2/process-instances/search" -> searchProcessInstances(exchange, readJson(exchange));
+            case "/v2/user-tasks/search" -> searchUserTasks(exchange, readJson(exchange));
+            default -> {
+                if (!taskCommand.matches()) {
+                    problem(exchange, 404, "NOT_FOUND", "No endpoint " + path);
+                } else if (taskCommand.group(2).equals("assignment")) {
+                    assign(exchange, Long.parseLong(taskCommand.group(1)), readJson(exchange));
+                } else {
+                    complete(exchange, Long.parseLong(taskCommand.group(1)));
+                }
+            }
+        }
+    }
+
+    private void deploy(HttpExchange exchange) throws IOException {
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        int boundaryIndex = contentType == null ? -1 : contentType.indexOf("boundary=");
+        if (boundaryIndex < 0) {
+            problem(exchange, 400, "INVALID_ARGUMENT", "Expected a multipart request");
+            return;
+        }
+        String boundary = "--" + contentType.substring(boundaryIndex + "boundary=".length()).replace("\"", "");
+        // ISO-8859-1 maps every byte to one char, so the multipart structure survives decoding
+        String body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = new String(in.readAllBytes(), StandardCharsets.ISO_8859_1);
+        }
+
+        ArrayNode deployments = MAPPER.createArrayNode();
+        for (String part : body.split(Pattern.quote(boundary))) {
+            Matcher fileName = FILE_NAME.matcher(part);
+            Matcher processId = PROCESS_ID.matcher(part);
+            if (!fileName.find() || !processId.find()) {
+                continue;
+            }
+            int contentStart = part.indexOf("\r\n\r\n");
+            String content = contentStart < 0 ? part : part.substring(contentStart + 4);
+            Matcher userTaskId = USER_TASK_ID.matcher(content);
+            Definition definition = state.deploy(processId.group(1), fileName.group(1),
+                    Integer.toHexString(content.hashCode()), userTaskId.find() ? userTaskId.group(1) : null);
+            ObjectNode processDefinition = MAPPER.createObjectNode()
+                    .put("processDefinitionId", definition.processId())
+                    .put("processDefinitionVersion", definition.version())
+                    .put("resourceName", definition.resourceName())
+                    .put("tenantId", TENANT)
+                    .put("processDefinitionKey", String.valueOf(definition.key()));
+            deployments.addObject().set("processDefinition", processDefinition);
+        }
+        if (deployments.isEmpty()) {
+            problem(exchange, 400, "INVALID_ARGUMENT", "No BPMN process found in deployment");
+            return;
+        }
+
+        ObjectNode response = MAPPER.createObjectNode()
+                .put("deploymentKey", String.valueOf(state.nextKey()))
+                .put("tenantId", TENANT);
+        response.set("deployments", deployments);
+        json(exchange, 200, response);
+    }
+
+    private void getProcessDefinition(HttpExchange exchange, long processDefinitionKey) throws IOException {
+        Definition definition = state.definitions.get(processDefinitionKey);
+        if (definition == null) {
+            problem(exchange, 404, "NOT_FOUND", "Process definition with key " + processDefinitionKey + " not found");
+            return;
+        }
+        json(exchange, 200, MAPPER.createObjectNode()
+                .put("processDefinitionKey", String.valueOf(definition.key()))
+                .put("processDefinitionId", definition.processId())
+                .put("name", definition.processId())
+                .put("resourceName", definition.resourceName())
+                .put("version", definition.version())
+                .put("tenantId", TENANT)
+                .put("hasStartForm", false));
+    }
+
+    private void createInstance(HttpExchange exchange, JsonNode request) throws IOException {
+        Definition definition;
+        if (request.hasNonNull("processDefinitionKey")) {
+            definition = state.definitions.get(request.get("processDefinitionKey").asLong());
+        } else {
+            definition = state.latest(request.path("processDefinitionId").asText());
+            int version = request.path("processDefinitionVersion").asInt(-1);
+            if (definition != null && version > 0) {
+                definition = state.definitionsByProcessId.get(definition.processId()).stream()
+                        .filter(candidate -> candidate.version() == version)
+                        .findFirst()
+                        .orElse(null);
+            }
+        }
+        if (definition == null) {
+            problem(exchange, 404, "NOT_FOUND", "Expected to find process definition for " + request);
+            return;
+        }
+
+        Instance instance = state.start(definition, request.path("variables").toString());
+        ObjectNode response = MAPPER.createObjectNode()
+                .put("processDefinitionKey", String.valueOf(definition.key()))
+                .put("processDefinitionId", definition.processId())
+                .put("processDefinitionVersion", definition.version())
+                .put("tenantId", TENANT)
+                .put("processInstanceKey", String.valueOf(instance.key));
+        response.putObject("variables");
+        json(exchange, 200, response);
+    }
+
+    private void assign(HttpExchange exchange, long userTaskKey, JsonNode request) throws IOException {
+        Task task = state.tasks.get(userTaskKey);
+        String assignee = request.path("assignee").asText(null);
+        boolean allowOverride = request.path("allowOverride").asBoolean(true);
+        if (task == null) {
+            problem(exchange, 404, "NOT_FOUND", "User task " + userTaskKey + " not found");
+            return;
+        }
+        synchronized (task) {
+            if (task.status() != StubStatus.CREATED) {
+                problem(exchange, 404, "NOT_FOUND", "User task " + userTaskKey + " is not active");
+                return;
+            }
+            if (!allowOverride && task.assignee != null && !task.assignee.equals(assignee)) {
+                problem(exchange, 409, "INVALID_STATE", "User task " + userTaskKey + " is already assigned");
+                return;
+            }
+            task.assignee = assignee;
+        }
+        exchange.sendResponseHeaders(204, -1);
+    }
+
+    private void complete(HttpExchange exchange, long userTaskKey) throws IOException {
+        exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+        Task task = state.tasks.get(userTaskKey);
+        if (task == null) {
+            problem(exchange, 404, "NOT_FOUND", "User task " + userTaskKey + " not found");
+            return;
+        }
+        synchronized (task) {
+            if (task.status() != StubStatus.CREATED) {
+                problem(exchange, 404, "NOT_FOUND", "User task " + userTaskKey + " is not active");
+                return;
+            }
+            long visibleAt = state.visibleAfterNow();
+            task.transition(StubStatus.COMPLETED, visibleAt);
+            task.instance.transition(StubStatus.COMPLETED, visibleAt);
+        }
+        exchange.sendResponseHeaders(204, -1);
+    }
+
+    private void searchUserTasks(HttpExchange exchange, JsonNode request) throws IOException {
+        JsonNode filter = request.path("filter");
+        Set<Long> instanceKeys = keys(filter.get("processInstanceKey"));
+        Set<Long> taskKeys = keys(filter.get("userTaskKey"));
+        String elementId = text(filter.get("elementId"));
+        String status = text(filter.get("state"));
+        String assignee = text(filter.get("assignee"));
+        long now = System.nanoTime();
+
+        LongFunction<Collection<Task>> candidates;
+        if (instanceKeys != null) {
+            candidates = after -> {
+                List<Task> tasks = new ArrayList<>();
+                instanceKeys.forEach(key -> tasks.addAll(state.tasksByInstance.getOrDefault(key, List.of())));
+                // concurrently started instances interleave their keys, so instance order is not task key order
+                tasks.sort(Comparator.comparingLong(task -> task.key));
+                return tasks;
+            };
+        } else if (taskKeys != null) {
+            candidates = after -> taskKeys.stream().sorted().map(state.tasks::get).filter(task -> task != null).toList();
+        } else {
+            candidates = after -> state.tasks.tailMap(after, false).values();
+        }
+
+        Predicate<Task> matches = task -> task.isVisible(now)
+                && (taskKeys == null || taskKeys.contains(task.key))
+                && (elementId == null || elementId.equals(task.elementId))
+                && (status == null || status.equals(task.visibleStatus(now).name()))
+                && (assignee == null || assignee.equals(task.assignee));
+        page(exchange, request.path("page"), candidates, matches, task -> task.key, task -> userTaskJson(task, now));
+    }
+
+    private void searchProcessInstances(HttpExchange exchange, JsonNode request) throws IOException {
+        JsonNode filter = request.path("filter");
+        Set<Long> instanceKeys = keys(filter.get("processInstanceKey"));
+        String processId = text(filter.get("processDefinitionId"));
+        String status = text(filter.get("state"));
+        long now = System.nanoTime();
+
+        LongFunction<Collection<Instance>> candidates = instanceKeys == null
+                ? after -> state.instances.tailMap(after, false).values()
+                : after -> instanceKeys.stream().sorted().map(state.instances::get).filter(instance -> instance != null).toList();
+
+        Predicate<Instance> matches = instance -> instance.isVisible(now)
+                && (processId == null || processId.equals(instance.definition.processId()))
+                && (status == null || status.equals(instance.visibleStatus(now).name()));
+        page(exchange, request.path("page"), candidates, matches, instance -> instance.key,
+                instance -> processInstanceJson(instance, now));
+    }
+
+    /**
+     * Writes one page of the matching candidates, which must be in key order. Only the candidates up to the end
+     * of the page are walked, so the total is counted up to there and {@code hasMoreTotalItems} tells whether
+     * further matches exist, like the capped totals of the real search.
+     *
+     * @param candidates the candidates with a key greater than the given cursor key, or a superset of them
+     */
+    private <T> void page(HttpExchange exchange, JsonNode page, LongFunction<Collection<T>> candidates,
+                          Predicate<T> matches, ToLongFunction<T> key, Function<T, ObjectNode> toJson)
+            throws IOException {
+        int limit = page.path("limit").asInt(DEFAULT_PAGE_SIZE);
+        int from = page.path("from").asInt(0);
+        long after = page.hasNonNull("after") ? decodeCursor(page.get("after").asText()) : Long.MIN_VALUE;
+
+        ArrayNode items = MAPPER.createArrayNode();
+        long total = 0;
+        boolean more = false;
+        long firstKey = 0;
+        long lastKey = 0;
+        for (T candidate : candidates.apply(after)) {
+            long candidateKey = key.applyAsLong(candidate);
+            if (candidateKey <= after || !matches.test(candidate)) {
+                continue;
+            }
+            if (items.size() >= limit) {
+                more = true;
+                break;
+            }
+            if (total++ < from) {
+                continue;
+            }
+            if (items.isEmpty()) {
+                firstKey = candidateKey;
+            }
+            lastKey = candidateKey;
+            items.add(toJson.apply(candidate));
+        }
+
+        ObjectNode response = MAPPER.createObjectNode();
+        response.set("items", items);
+        ObjectNode pageNode = response.putObject("page")
+                .put("totalItems", total)
+                .put("hasMoreTotalItems", more);
+        if (!items.isEmpty()) {
+            pageNode.put("startCursor", encodeCursor(firstKey)).put("endCursor", encodeCursor(lastKey));
+        }
+        json(exchange, 200, response);
+    }
+
+    private static ObjectNode userTaskJson(Task task, long now) {
+        Definition definition = task.instance.definition;
+        StubStatus status = task.visibleStatus(now);
+        ObjectNode json = MAPPER.createObjectNode()
+                .put("userTaskKey", String.valueOf(task.key))
+                .put("elementId", task.elementId)
+                .put("state", status.name())
+                .put("assignee", task.assignee)
+                .put("elementInstanceKey", String.valueOf(task.elementInstanceKey))
+                .put("processDefinitionId", definition.processId())
+                .put("processDefinitionKey", String.valueOf(definition.key()))
+                .put("processDefinitionVersion", definition.version())
+                .put("processInstanceKey", String.valueOf(task.instance.key))
+                .put("creationDate", Instant.ofEpochMilli(task.createdAt).toString())
+                .put("tenantId", TENANT)
+                .put("priority", 50);
+        json.putArray("candidateGroups");
+        json.putArray("candidateUsers");
+        json.putObject("customHeaders");
+        return json;
+    }
+
+    private static ObjectNode processInstanceJson(Instance instance, long now) {
+        Definition definition = instance.definition;
+        return MAPPER.createObjectNode()
+                .put("processInstanceKey", String.valueOf(instance.key))
+                .put("processDefinitionId", definition.processId())
+                .put("processDefinitionVersion", definition.version())
+                .put("processDefinitionKey", String.valueOf(definition.key()))
+                .put("startDate", Instant.ofEpochMilli(instance.createdAt).toString())
+                .put("state", instance.visibleStatus(now).name())
+                .put("hasIncident", false)
+                .put("tenantId", TENANT);
+    }
+
+    /**
+     * Parses a key filter given as plain value, {@code {"$eq": v}} or {@code {"$in": [...]}}; {@code null} means any key.
+     */
+    private static Set<Long> keys(JsonNode filter) {
+        if (filter == null || filter.isNull()) {
+            return null;
+        }
+        Set<Long> keys = new HashSet<>();
+        if (filter.isObject()) {
+            if (filter.has("$eq")) {
+                keys.add(filter.get("$eq").asLong());
+            }
+            filter.path("$in").forEach(value -> keys.add(value.asLong()));
+        } else {
+            keys.add(filter.asLong());
+        }
+        return keys;
+    }
+
+    private static String text(JsonNode filter) {
+        if (filter == null || filter.isNull()) {
+            return null;
+        }
+        return filter.isObject() ? filter.path("$eq").asText(null) : filter.asText();
+    }
+
+    private static String encodeCursor(long key) {
+        return Base64.getEncoder().encodeToString(Long.toString(key).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long decodeCursor(String cursor) {
+        return Long.parseLong(new String(Base64.getDecoder().decode(cursor), StandardCharsets.UTF_8));
+    }
+
+    private static JsonNode readJson(HttpExchange exchange) throws IOException {
+        boolean gzipped = "gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"));
+        try (InputStream in = gzipped ? new GZIPInputStream(exchange.getRequestBody()) : exchange.getRequestBody()) {
+            byte[] body = in.readAllBytes();
+            return body.length == 0 ? MAPPER.createObjectNode() : MAPPER.readTree(body);
+        }
+    }
+
+    private static void json(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        byte[] bytes = MAPPER.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (bytes.length >= MIN_COMPRESSED_RESPONSE && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            bytes = gzip(bytes);
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static void problem(HttpExchange exchange, int status, String title, String detail) throws IOException {
+        ObjectNode body = MAPPER.createObjectNode()
+                .put("type", "about:blank")
+                .put("title", title)
+                .put("status", status)
+                .put("detail", detail)
+                .put("instance", exchange.getRequestURI().getPath());
+        byte[] bytes = MAPPER.writeValueAsBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", "application/problem+json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+}
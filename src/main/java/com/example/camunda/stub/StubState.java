@@ -0,0 +1,146 @@
+package com.example.camunda.stub;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.List;
+
+/**
+ * In-memory engine state of {@link CamundaStubServer}. Entities are kept in key order so searches can
+ * page with a cursor, and user tasks are indexed by process instance for the common lookup.
+ *
+ * <p>State changes become visible to searches only after the configured export delay, mimicking the
+ * lag between the engine and secondary storage.
+ */
+final class StubState {
+
+    private static final long KEY_BASE = 2251799813685248L;
+
+    private final AtomicLong keys = new AtomicLong(KEY_BASE);
+    private final long exportDelayNanos;
+
+    final Map<String, List<Definition>> definitionsByProcessId = new ConcurrentHashMap<>();
+    final Map<Long, Definition> definitions = new ConcurrentHashMap<>();
+    final ConcurrentSkipListMap<Long, Instance> instances = new ConcurrentSkipListMap<>();
+    final ConcurrentSkipListMap<Long, Task> tasks = new ConcurrentSkipListMap<>();
+    final Map<Long, List<Task>> tasksByInstance = new ConcurrentHashMap<>();
+
+    StubState(long exportDelayNanos) {
+        this.exportDelayNanos = exportDelayNanos;
+    }
+
+    long nextKey() {
+        return keys.incrementAndGet();
+    }
+
+    synchronized Definition deploy(String processId, String resourceName, String contentHash, String userTaskId) {
+        List<Definition> versions = definitionsByProcessId.computeIfAbsent(processId, id -> new CopyOnWriteArrayList<>());
+        if (!versions.isEmpty() && versions.getLast().contentHash().equals(contentHash)) {
+            return versions.getLast();
+        }
+        Definition definition = new Definition(
+                nextKey(), processId, versions.size() + 1, resourceName, contentHash, userTaskId);
+        versions.add(definition);
+        definitions.put(definition.key(), definition);
+        return definition;
+    }
+
+    Definition latest(String processId) {
+        List<Definition> versions = definitionsByProcessId.get(processId);
+        return versions == null || versions.isEmpty() ? null : versions.getLast();
+    }
+
+    Instance start(Definition definition, String variablesJson) {
+        long now = System.nanoTime();
+        Instance instance = new Instance(nextKey(), definition, variablesJson, now + exportDelayNanos);
+        instances.put(instance.key, instance);
+        if (definition.userTaskId() == null) {
+            instance.transition(StubStatus.COMPLETED, now + exportDelayNanos);
+        } else {
+            long elementInstanceKey = nextKey();
+            Task task = new Task(nextKey(), elementInstanceKey, instance, definition.userTaskId(), now + exportDelayNanos);
+            tasks.put(task.key, task);
+            tasksByInstance.computeIfAbsent(instance.key, key -> new CopyOnWriteArrayList<>()).add(task);
+        }
+        return instance;
+    }
+
+    long visibleAfterNow() {
+        return System.nanoTime() + exportDelayNanos;
+    }
+
+    record Definition(long key, String processId, int version, String resourceName, String contentHash,
+                      String userTaskId) {
+    }
+
+    /**
+     * Tracks the current and previously exported status of an entity.
+     */
+    abstract static class Versioned {
+
+        private volatile StubStatus status;
+        private volatile StubStatus previousStatus;
+        private volatile long statusVisibleAt;
+        final long createdAt;
+        final long visibleAt;
+
+        Versioned(StubStatus initial, long visibleAt) {
+            this.status = initial;
+            this.previousStatus = initial;
+            this.statusVisibleAt = visibleAt;
+            this.createdAt = System.currentTimeMillis();
+            this.visibleAt = visibleAt;
+        }
+
+        StubStatus status() {
+            return status;
+        }
+
+        synchronized void transition(StubStatus next, long visibleAt) {
+            previousStatus = status;
+            status = next;
+            statusVisibleAt = visibleAt;
+        }
+
+        boolean isVisible(long now) {
+            return now - visibleAt >= 0;
+        }
+
+        StubStatus visibleStatus(long now) {
+            return now - statusVisibleAt >= 0 ? status : previousStatus;
+        }
+    }
+
+    static final class Instance extends Versioned {
+
+        final long key;
+        final Definition definition;
+        final String variablesJson;
+
+        Instance(long key, Definition definition, String variablesJson, long visibleAt) {
+            super(StubStatus.ACTIVE, visibleAt);
+            this.key = key;
+            this.definition = definition;
+            this.variablesJson = variablesJson;
+        }
+    }
+
+    static final class Task extends Versioned {
+
+        final long key;
+        final long elementInstanceKey;
+        final Instance instance;
+        final String elementId;
+        volatile String assignee;
+
+        Task(long key, long elementInstanceKey, Instance instance, String elementId, long visibleAt) {
+            super(StubStatus.CREATED, visibleAt);
+            this.key = key;
+            this.elementInstanceKey = elementInstanceKey;
+            this.instance = instance;
+            this.elementId = elementId;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.camunda.stub;
+
+/**
+ * Lifecycle states of stub process instances (ACTIVE, COMPLETED) and user tasks (CREATED, COMPLETED).
+ */
+enum StubStatus {
+    ACTIVE,
+    CREATED,
+    COMPLETED
+}
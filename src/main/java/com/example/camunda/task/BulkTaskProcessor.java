@@ -0,0 +1,110 @@
+package com.example.camunda.task;
+
+import com.example.camunda.await.Backoff;
+import com.example.camunda.client.ClientErrors;
+import com.example.camunda.orchestration.RunSummary;
+import com.example.camunda.retry.RetryBudget;
+import com.example.camunda.retry.RetryPolicy;
+import com.example.camunda.search.CursorPager;
+import io.camunda.client.CamundaClient;
+import io.camunda.client.api.search.enums.UserTaskState;
+import io.camunda.client.api.search.response.UserTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Assigns and completes every open user task with a given element id, e.g. to drain a backlog of
+ * {@code userTask_1} tasks. Tasks are read page by page and processed on virtual threads, with at most
+ * {@code concurrency} tasks in flight; transient failures are retried with backoff up to {@code maxAttempts}.
+ * A task that is gone when its completion is retried counts as completed.
+ */
+public class BulkTaskProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkTaskProcessor.class);
+    private static final Backoff RETRY_BACKOFF = Backoff.exponential(Duration.ofMillis(100), Duration.ofSeconds(5));
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final CamundaClient client;
+    private final String elementId;
+    private final String assignee;
+    private final int concurrency;
+    private final int pageSize;
+    private final RetryPolicy retryPolicy;
+
+    public BulkTaskProcessor(CamundaClient client, String elementId, String assignee,
+                             int concurrency, int pageSize, int maxAttempts) {
+        if (concurrency < 1 || pageSize < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException("concurrency, pageSize and maxAttempts must be positive");
+        }
+        this.client = client;
+        this.elementId = elementId;
+        this.assignee = assignee;
+        this.concurrency = concurrency;
+        this.pageSize = pageSize;
+        this.retryPolicy = new RetryPolicy(maxAttempts, RETRY_BACKOFF, new RetryBudget(0.2, 100));
+    }
+
+    public RunSummary processAll() throws InterruptedException {
+        Semaphore permits = new Semaphore(concurrency);
+        LongAdder succeeded = new LongAdder();
+        LongAdder failed = new LongAdder();
+        long start = System.nanoTime();
+        long lastProgress = start;
+
+        try (Stream<UserTask> tasks = CursorPager.userTasks(client,
+                     filter -> filter.elementId(elementId).state(UserTaskState.CREATED), pageSize);
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Iterator<UserTask> iterator = tasks.iterator();
+            while (iterator.hasNext()) {
+                long userTaskKey = iterator.next().getUserTaskKey();
+                permits.acquire();
+                executor.execute(() -> {
+                    try {
+                        assignAndComplete(userTaskKey);
+                        succeeded.increment();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        failed.increment();
+                    } catch (RuntimeException e) {
+                        failed.increment();
+                        log.warn("Giving up on user task {}", userTaskKey, e);
+                    } finally {
+                        permits.release();
+                    }
+                });
+
+                long now = System.nanoTime();
+                if (now - lastProgress >= PROGRESS_INTERVAL_NANOS) {
+                    lastProgress = now;
+                    log.info("Processed {} user tasks ({} failed) so far",
+                            succeeded.sum() + failed.sum(), failed.sum());
+                }
+            }
+        }
+
+        RunSummary summary = new RunSummary(succeeded.sum(), failed.sum(), Duration.ofNanos(System.nanoTime() - start));
+        log.info("Processed {} user tasks ({} failed) in {} ms, {} per second",
+                summary.total(), summary.failed(), summary.elapsed().toMillis(),
+                String.format("%.1f", summary.throughputPerSecond()));
+        return summary;
+    }
+
+    private void assignAndComplete(long userTaskKey) throws InterruptedException {
+        retryPolicy.call("assign user task " + userTaskKey, () -> client.newAssignUserTaskCommand(userTaskKey)
+                .assignee(assignee)
+                .send()
+                .join());
+        retryPolicy.call("complete user task " + userTaskKey, () -> client.newCompleteUserTaskCommand(userTaskKey)
+                .send()
+                .join(), ClientErrors::isNotFound);
+    }
+}
@@ -0,0 +1,73 @@
+package TEST;
+
+import com.example.camunda.limit.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void shouldQueueCommandsBeyondTheLimit() {
+        //given
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 2.0);
+        final CompletableFuture<String> first = new CompletableFuture<>();
+        final CompletableFuture<String> second = new CompletableFuture<>();
+        final AtomicBoolean thirdStarted = new AtomicBoolean();
+        limiter.callAsync(() -> first);
+        limiter.callAsync(() -> second);
+
+        //when
+        final CompletableFuture<String> third = limiter.callAsync(() -> {
+            thirdStarted.set(true);
+            return CompletableFuture.completedFuture("third");
+        });
+
+        //then
+        assertThat(thirdStarted.get()).isFalse();
+        first.complete("first");
+        assertThat(third.join()).isEqualTo("third");
+        assertThat(limiter.inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldGrowLimitWhileLatencyIsStable() throws InterruptedException {
+        //given
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 1000.0);
+
+        //when
+        for (int i = 0; i < 100; i++) {
+            limiter.call(() -> "done");
+        }
+
+        //then
+        assertThat(limiter.limit()).isEqualTo(10);
+    }
+
+    @Test
+    void shouldDecreaseOnceForSlowCallsInFlightTogether() throws InterruptedException {
+        //given a fast call as baseline and eight calls in flight together
+        final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 100, 2.0);
+        limiter.call(() -> "fast");
+        final List<CompletableFuture<String>> slow = new ArrayList<>();
+        final List<CompletableFuture<String>> calls = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final CompletableFuture<String> response = new CompletableFuture<>();
+            slow.add(response);
+            calls.add(limiter.callAsync(() -> response));
+        }
+        Thread.sleep(50);
+
+        //when
+        slow.forEach(response -> response.complete("slow"));
+        calls.forEach(CompletableFuture::join);
+
+        //then
+        assertThat(limiter.limit()).isEqualTo(9);
+    }
+}
@@ -0,0 +1,51 @@
+package TEST;
+
+import com.example.camunda.await.AwaitTimeoutException;
+import com.example.camunda.await.Awaiter;
+import com.example.camunda.orchestration.AsyncOrchestrationFlow;
+import com.example.camunda.orchestration.OrchestrationResult;
+import io.camunda.client.api.search.enums.ProcessInstanceState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AsyncOrchestrationFlowTest {
+
+    @RegisterExtension
+    final StubServerExtension stub = new StubServerExtension(Duration.ofMillis(50));
+
+    @RegisterExtension
+    final StubServerExtension slowExport = new StubServerExtension(Duration.ofSeconds(10));
+
+    @Test
+    void shouldCompleteProcessInstance() {
+        //given
+        final AsyncOrchestrationFlow flow = new AsyncOrchestrationFlow(stub.client(), Awaiter.withDefaults(),
+                Duration.ofSeconds(5), Duration.ofSeconds(5), Duration.ofSeconds(5));
+
+        //when
+        final OrchestrationResult result = flow.run().join();
+
+        //then
+        assertThat(result.finalState()).isEqualTo(ProcessInstanceState.COMPLETED);
+        assertThat(stub.server().processInstanceCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldFailWhenUserTaskDoesNotBecomeVisible() {
+        //given
+        final AsyncOrchestrationFlow flow = new AsyncOrchestrationFlow(slowExport.client(), Awaiter.withDefaults(),
+                Duration.ofSeconds(5), Duration.ofMillis(200), Duration.ofSeconds(5));
+
+        //when
+        final CompletableFuture<OrchestrationResult> result = flow.run();
+
+        //then
+        assertThatThrownBy(result::join).hasCauseInstanceOf(AwaitTimeoutException.class);
+    }
+}
@@ -0,0 +1,62 @@
+package TEST;
+
+import com.example.camunda.await.Awaiter;
+import com.example.camunda.orchestration.AsyncOrchestrationFlow;
+import com.example.camunda.orchestration.AsyncOrchestrationRunner;
+import com.example.camunda.orchestration.OrchestrationResult;
+import com.example.camunda.orchestration.RunSummary;
+import io.camunda.client.api.search.enums.ProcessInstanceState;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AsyncOrchestrationRunnerTest {
+
+    @Test
+    void shouldRunSynchronouslyCompletingOrchestrationsWithoutGrowingTheStack() throws Exception {
+        //given
+        final AsyncOrchestrationRunner runner = new AsyncOrchestrationRunner(new CompletedFlow(), 4);
+
+        //when
+        // a stack overflow in a completion callback is swallowed, so the run would never finish
+        final RunSummary summary = runner.run(100_000).get(30, TimeUnit.SECONDS);
+
+        //then
+        assertThat(summary.succeeded()).isEqualTo(50_000L);
+        assertThat(summary.failed()).isEqualTo(50_000L);
+    }
+
+    @Test
+    void shouldCompleteEmptyRun() {
+        //when
+        final RunSummary summary = new AsyncOrchestrationRunner(new CompletedFlow(), 4).run(0).join();
+
+        //then
+        assertThat(summary.total()).isEqualTo(0L);
+    }
+
+    /**
+     * Completes every orchestration before returning it, failing every second one.
+     */
+    private static final class CompletedFlow extends AsyncOrchestrationFlow {
+
+        private final AtomicLong runs = new AtomicLong();
+
+        private CompletedFlow() {
+            super(null, Awaiter.withDefaults(), Duration.ofSeconds(1), Duration.ofSeconds(1), Duration.ofSeconds(1));
+        }
+
+        @Override
+        public CompletableFuture<OrchestrationResult> run() {
+            final long run = runs.incrementAndGet();
+            return run % 2 == 0
+                    ? CompletableFuture.failedFuture(new IllegalStateException("run " + run))
+                    : CompletableFuture.completedFuture(new OrchestrationResult(run, run, ProcessInstanceState.COMPLETED));
+        }
+    }
+}
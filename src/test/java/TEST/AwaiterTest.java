@@ -0,0 +1,59 @@
+package TEST;
+
+import com.example.camunda.await.AwaitTimeoutException;
+import com.example.camunda.await.Awaiter;
+import com.example.camunda.await.Backoff;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class AwaiterTest {
+
+    private final Awaiter awaiter =
+            new Awaiter(Backoff.exponential(Duration.ofMillis(1), Duration.ofMillis(10)));
+
+    @Test
+    void shouldReturnAsSoonAsProbeYieldsValue() throws InterruptedException {
+        //given
+        final AtomicInteger attempts = new AtomicInteger();
+
+        //when
+        final String value = awaiter.await(
+                "third attempt",
+                () -> attempts.incrementAndGet() < 3 ? Optional.empty() : Optional.of("done"),
+                Duration.ofSeconds(5));
+
+        //then
+        assertThat(value).isEqualTo("done");
+        assertThat(attempts).hasValue(3);
+    }
+
+    @Test
+    void shouldFailAfterDeadline() {
+        assertThatThrownBy(() -> awaiter.await("nothing", Optional::empty, Duration.ofMillis(50)))
+                .isInstanceOf(AwaitTimeoutException.class)
+                .hasMessageContaining("nothing");
+    }
+
+    @Test
+    void shouldCompleteAsyncProbe() {
+        //given
+        final AtomicInteger attempts = new AtomicInteger();
+
+        //when
+        final CompletableFuture<Integer> result = awaiter.awaitAsync(
+                "async value",
+                () -> CompletableFuture.completedFuture(
+                        attempts.incrementAndGet() < 5 ? Optional.empty() : Optional.of(attempts.get())),
+                Duration.ofSeconds(5));
+
+        //then
+        assertThat(result.join()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,133 @@
+package TEST;
+
+import com.example.camunda.await.Awaiter;
+import com.example.camunda.batch.BatchInstanceCreator;
+import com.example.camunda.batch.CreationResult;
+import com.example.camunda.client.ClientErrors;
+import com.example.camunda.orchestration.OrchestrationFlow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BatchInstanceCreatorTest {
+
+    @RegisterExtension
+    final StubServerExtension stub = new StubServerExtension();
+
+    @Test
+    void shouldCreateInstanceForEveryPayload() {
+        //given
+        final BatchInstanceCreator creator = new BatchInstanceCreator(stub.client(), OrchestrationFlow.PROCESS_ID, 4);
+
+        //when
+        final List<CreationResult> results;
+        try (Stream<CreationResult> stream = creator.createAll(payloads(20))) {
+            results = stream.toList();
+        }
+
+        //then
+        assertThat(results.stream().allMatch(CreationResult::isSuccess)).isTrue();
+        assertThat(results.stream().mapToLong(CreationResult::index).sorted().boxed().toList())
+                .isEqualTo(LongStream.range(0, 20).boxed().toList());
+        assertThat(stub.server().processInstanceCount()).isEqualTo(20);
+    }
+
+    @Test
+    void shouldReportFailuresPerPayload() {
+        //given
+        final BatchInstanceCreator creator = new BatchInstanceCreator(stub.client(), "unknownProcess", 4);
+
+        //when
+        final List<CreationResult> results;
+        try (Stream<CreationResult> stream = creator.createAll(payloads(5))) {
+            results = stream.toList();
+        }
+
+        //then
+        assertThat(results).hasSize(5);
+        assertThat(results.stream().allMatch(result -> ClientErrors.isNotFound(result.failure()))).isTrue();
+    }
+
+    @Test
+    void shouldKeepWindowOfCommandsInFlight() throws InterruptedException {
+        //given
+        final AtomicInteger pulled = new AtomicInteger();
+        final BatchInstanceCreator creator = new BatchInstanceCreator(stub.client(), OrchestrationFlow.PROCESS_ID, 2);
+
+        try (Stream<CreationResult> stream = creator.createAll(payloads(10).peek(payload -> pulled.incrementAndGet()))) {
+            //when
+            final Iterator<CreationResult> results = stream.iterator();
+            results.next();
+
+            //then the taken result and the window, plus the payload waiting for a permit
+            final Optional<Integer> overrun = Awaiter.withDefaults().tryAwait("more payloads than the window allows",
+                    () -> pulled.get() > 4 ? Optional.of(pulled.get()) : Optional.empty(), Duration.ofMillis(300));
+            assertThat(overrun).isEmpty();
+            assertThat(stub.server().processInstanceCount()).isLessThanOrEqualTo(3);
+        }
+    }
+
+    @Test
+    void shouldDeliverSentResultsBeforePayloadFailure() {
+        //given
+        final BatchInstanceCreator creator = new BatchInstanceCreator(stub.client(), OrchestrationFlow.PROCESS_ID, 8);
+        final Stream<Map<String, Object>> failing = IntStream.range(0, 10).mapToObj(i -> {
+            if (i == 5) {
+                throw new IllegalStateException("payload source failed");
+            }
+            return Map.<String, Object>of("item", i);
+        });
+
+        //when
+        final List<CreationResult> results = new ArrayList<>();
+        try (Stream<CreationResult> stream = creator.createAll(failing)) {
+            assertThatThrownBy(() -> stream.forEach(results::add))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("payload source failed");
+        }
+
+        //then
+        assertThat(results).hasSize(5);
+        assertThat(results.stream().allMatch(CreationResult::isSuccess)).isTrue();
+    }
+
+    @Test
+    void shouldStopProducerWhenResultsAreClosed() {
+        //given
+        final AtomicBoolean payloadsClosed = new AtomicBoolean();
+        final BatchInstanceCreator creator = new BatchInstanceCreator(stub.client(), OrchestrationFlow.PROCESS_ID, 2);
+        final Stream<Map<String, Object>> endless = Stream.generate(() -> Map.<String, Object>of("item", 1))
+                .onClose(() -> payloadsClosed.set(true));
+
+        //when the consumer stops early and closes the stream
+        final List<CreationResult> firstThree = new ArrayList<>();
+        try (Stream<CreationResult> stream = creator.createAll(endless)) {
+            final Iterator<CreationResult> results = stream.iterator();
+            for (int i = 0; i < 3; i++) {
+                firstThree.add(results.next());
+            }
+        }
+
+        //then
+        assertThat(firstThree).hasSize(3);
+        assertThat(payloadsClosed.get()).isTrue();
+    }
+
+    private static Stream<Map<String, Object>> payloads(int count) {
+        return IntStream.range(0, count).mapToObj(i -> Map.of("item", i));
+    }
+}
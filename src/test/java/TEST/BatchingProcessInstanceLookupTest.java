@@ -0,0 +1,79 @@
+package TEST;
+
+import com.example.camunda.search.BatchingProcessInstanceLookup;
+import io.camunda.client.api.search.response.ProcessInstance;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BatchingProcessInstanceLookupTest {
+
+    @RegisterExtension
+    final StubServerExtension stub = new StubServerExtension();
+
+    @Test
+    void shouldAnswerConcurrentLookupsWithOneSearch() {
+        //given
+        final List<Long> keys = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            keys.add(stub.createInstance());
+        }
+        final long requestsBefore = stub.server().requestCount();
+
+        try (BatchingProcessInstanceLookup lookup =
+                     new BatchingProcessInstanceLookup(stub.client(), Duration.ofMillis(50), 100)) {
+            //when
+            final List<CompletableFuture<Optional<ProcessInstance>>> results = new ArrayList<>();
+            keys.forEach(key -> results.add(lookup.lookup(key)));
+            final CompletableFuture<Optional<ProcessInstance>> unknown = lookup.lookup(42L);
+
+            //then
+            for (int i = 0; i < keys.size(); i++) {
+                assertThat(results.get(i).join().orElseThrow().getProcessInstanceKey()).isEqualTo(keys.get(i));
+            }
+            assertThat(unknown.join()).isEmpty();
+            assertThat(stub.server().requestCount() - requestsBefore).isEqualTo(1L);
+        }
+    }
+
+    @Test
+    void shouldFailBatchWhenSearchCannotBeSent() {
+        //given
+        final long key = stub.createInstance();
+        final BatchingProcessInstanceLookup lookup =
+                new BatchingProcessInstanceLookup(stub.client(), Duration.ofMillis(10), 100);
+        stub.client().close();
+
+        //when
+        final CompletableFuture<Optional<ProcessInstance>> result = lookup.lookup(key);
+
+        //then
+        assertThatThrownBy(result::join).isInstanceOf(CompletionException.class);
+        lookup.close();
+    }
+
+    @Test
+    void shouldFailPendingAndLaterLookupsOnClose() {
+        //given
+        final BatchingProcessInstanceLookup lookup =
+                new BatchingProcessInstanceLookup(stub.client(), Duration.ofMinutes(1), 100);
+        final CompletableFuture<Optional<ProcessInstance>> pending = lookup.lookup(1L);
+
+        //when
+        lookup.close();
+        final CompletableFuture<Optional<ProcessInstance>> afterClose = lookup.lookup(2L);
+
+        //then
+        assertThatThrownBy(pending::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(afterClose::join).hasCauseInstanceOf(IllegalStateException.class);
+    }
+}
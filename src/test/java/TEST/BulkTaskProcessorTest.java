@@ -0,0 +1,84 @@
+package TEST;
+
+import com.example.camunda.await.Awaiter;
+import com.example.camunda.orchestration.OrchestrationFlow;
+import com.example.camunda.orchestration.RunSummary;
+import com.example.camunda.task.BulkTaskProcessor;
+import io.camunda.client.api.search.enums.ProcessInstanceState;
+import io.camunda.client.api.search.response.ProcessInstance;
+import io.camunda.client.api.search.response.UserTask;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BulkTaskProcessorTest {
+
+    @RegisterExtension
+    final StubServerExtension stub = new StubServerExtension();
+
+    @RegisterExtension
+    final StubServerExtension delayedExport = new StubServerExtension(Duration.ofSeconds(1));
+
+    @Test
+    void shouldAssignAndCompleteEveryOpenTaskAcrossPages() throws InterruptedException {
+        //given
+        for (int i = 0; i < 25; i++) {
+            stub.createInstance();
+        }
+        final BulkTaskProcessor processor =
+                new BulkTaskProcessor(stub.client(), OrchestrationFlow.USER_TASK_ID, "bulk", 4, 10, 3);
+
+        //when
+        final RunSummary summary = processor.processAll();
+
+        //then
+        assertThat(summary.succeeded()).isEqualTo(25L);
+        assertThat(summary.failed()).isEqualTo(0L);
+        final List<ProcessInstance> instances = stub.client().newProcessInstanceSearchRequest()
+                .send()
+                .join()
+                .items();
+        assertThat(instances).hasSize(25);
+        assertThat(instances.stream().allMatch(instance -> instance.getState() == ProcessInstanceState.COMPLETED))
+                .isTrue();
+    }
+
+    @Test
+    void shouldCountTaskThatCannotBeAssignedAsFailedAndGoOn() throws InterruptedException {
+        //given three searchable tasks, one of which is completed before the search sees it
+        for (int i = 0; i < 3; i++) {
+            delayedExport.createInstance();
+        }
+        final List<UserTask> tasks = Awaiter.withDefaults().await("three user tasks searchable", () -> {
+            final List<UserTask> visible = delayedExport.client().newUserTaskSearchRequest()
+                    .filter(filter -> filter.elementId(OrchestrationFlow.USER_TASK_ID))
+                    .send()
+                    .join()
+                    .items();
+            return visible.size() == 3 ? Optional.of(visible) : Optional.empty();
+        }, Duration.ofSeconds(5));
+        delayedExport.client().newCompleteUserTaskCommand(tasks.getFirst().getUserTaskKey()).send().join();
+        final BulkTaskProcessor processor =
+                new BulkTaskProcessor(delayedExport.client(), OrchestrationFlow.USER_TASK_ID, "bulk", 4, 10, 3);
+
+        //when
+        final RunSummary summary = processor.processAll();
+
+        //then
+        assertThat(summary.succeeded()).isEqualTo(2L);
+        assertThat(summary.failed()).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldRejectNonPositiveSettings() {
+        //when / then
+        assertThatThrownBy(() -> new BulkTaskProcessor(null, OrchestrationFlow.USER_TASK_ID, "bulk", 0, 10, 3))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,185 @@
+package TEST;
+
+import com.example.camunda.stub.CamundaStubServer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CamundaStubServerTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String BPMN = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <bpmn:definitions xmlns:bpmn="http://www.omg.org/spec/BPMN/20100524/MODEL">
+              <bpmn:process id="straightThrough" isExecutable="true"/>
+            </bpmn:definitions>
+            """;
+    private static final String USER_TASK_BPMN = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <bpmn:definitions xmlns:bpmn="http://www.omg.org/spec/BPMN/20100524/MODEL">
+              <bpmn:process id="withUserTask" isExecutable="true">
+                <bpmn:userTask id="review"/>
+              </bpmn:process>
+            </bpmn:definitions>
+            """;
+
+    private CamundaStubServer server;
+    private HttpClient http;
+
+    @BeforeEach
+    void startStubServer() throws IOException {
+        server = CamundaStubServer.start();
+        http = HttpClient.newHttpClient();
+    }
+
+    @AfterEach
+    void stopStubServer() {
+        http.close();
+        server.close();
+    }
+
+    @Test
+    void shouldAnswerMalformedBodyWithProblem() throws Exception {
+        //when
+        final HttpResponse<String> response = post("/v2/process-instances/search", "{not json");
+
+        //then
+        assertThat(response.statusCode()).isEqualTo(400);
+        assertThat(MAPPER.readTree(response.body()).path("title").asText()).isEqualTo("INVALID_ARGUMENT");
+    }
+
+    @Test
+    void shouldPageWithCursorUntilNoMoreItems() throws Exception {
+        //given
+        deploy();
+        for (int i = 0; i < 25; i++) {
+            assertThat(post("/v2/process-instances", "{\"processDefinitionId\":\"straightThrough\"}").statusCode())
+                    .isEqualTo(200);
+        }
+
+        //when
+        final Set<String> keys = new HashSet<>();
+        String after = null;
+        boolean more = true;
+        int pages = 0;
+        while (more) {
+            final String page = after == null ? "{\"limit\":10}" : "{\"limit\":10,\"after\":\"" + after + "\"}";
+            final JsonNode response = MAPPER.readTree(
+                    post("/v2/process-instances/search", "{\"page\":" + page + "}").body());
+            response.path("items").forEach(item -> keys.add(item.path("processInstanceKey").asText()));
+            after = response.path("page").path("endCursor").asText(null);
+            more = response.path("page").path("hasMoreTotalItems").asBoolean();
+            pages++;
+        }
+
+        //then
+        assertThat(keys).hasSize(25);
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    void shouldPageTasksOfConcurrentlyStartedInstancesInTaskKeyOrder() throws Exception {
+        //given instances started concurrently, so their instance and task keys interleave
+        deploy("withUserTask.bpmn", USER_TASK_BPMN);
+        final List<String> instanceKeys;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final List<Future<String>> created = IntStream.range(0, 400)
+                    .mapToObj(i -> executor.submit(() -> MAPPER.readTree(
+                            post("/v2/process-instances", "{\"processDefinitionId\":\"withUserTask\"}").body())
+                            .path("processInstanceKey").asText()))
+                    .toList();
+            instanceKeys = new ArrayList<>();
+            for (Future<String> key : created) {
+                instanceKeys.add(key.get());
+            }
+        }
+        final String filter = "{\"processInstanceKey\":{\"$in\":[" + String.join(",", instanceKeys) + "]}}";
+
+        //when
+        final List<Long> taskKeys = new ArrayList<>();
+        String after = null;
+        boolean more = true;
+        while (more) {
+            final String page = after == null ? "{\"limit\":7}" : "{\"limit\":7,\"after\":\"" + after + "\"}";
+            final JsonNode response = MAPPER.readTree(
+                    post("/v2/user-tasks/search", "{\"filter\":" + filter + ",\"page\":" + page + "}").body());
+            response.path("items").forEach(item -> taskKeys.add(item.path("userTaskKey").asLong()));
+            after = response.path("page").path("endCursor").asText(null);
+            more = response.path("page").path("hasMoreTotalItems").asBoolean();
+        }
+
+        //then
+        assertThat(taskKeys).hasSize(400);
+        assertThat(taskKeys).isEqualTo(taskKeys.stream().sorted().toList());
+    }
+
+    @Test
+    void shouldGetDeployedProcessDefinitionByKey() throws Exception {
+        //given
+        final String key = deploy().path("deployments").get(0).path("processDefinition")
+                .path("processDefinitionKey").asText();
+
+        //when
+        final HttpResponse<String> found = get("/v2/process-definitions/" + key);
+        final HttpResponse<String> missing = get("/v2/process-definitions/42");
+
+        //then
+        assertThat(found.statusCode()).isEqualTo(200);
+        assertThat(MAPPER.readTree(found.body()).path("processDefinitionId").asText()).isEqualTo("straightThrough");
+        assertThat(missing.statusCode()).isEqualTo(404);
+    }
+
+    private JsonNode deploy() throws Exception {
+        return deploy("straightThrough.bpmn", BPMN);
+    }
+
+    private JsonNode deploy(String fileName, String bpmn) throws Exception {
+        final String boundary = "stub-boundary";
+        final String body = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"resources\"; filename=\"" + fileName + "\"\r\n"
+                + "Content-Type: application/octet-stream\r\n\r\n"
+                + bpmn + "\r\n--" + boundary + "--\r\n";
+        final HttpResponse<String> response = http.send(HttpRequest.newBuilder(uri("/v2/deployments"))
+                        .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                        .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return MAPPER.readTree(response.body());
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return http.send(HttpRequest.newBuilder(uri(path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String json) throws Exception {
+        return http.send(HttpRequest.newBuilder(uri(path))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(json))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return server.restAddress().resolve(path);
+    }
+}
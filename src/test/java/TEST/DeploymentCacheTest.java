@@ -0,0 +1,114 @@
+package TEST;
+
+import com.example.camunda.deploy.CachedDeployment;
+import com.example.camunda.deploy.DeploymentCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DeploymentCacheTest {
+
+    private static final String RESOURCE = "demoProcess.bpmn";
+
+    @RegisterExtension
+    final StubServerExtension stub = new StubServerExtension();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldDeployOnceForConcurrentCallers() throws Exception {
+        //given
+        final DeploymentCache cache = new DeploymentCache(stub.client(), namespace());
+        final long requestsBefore = stub.server().requestCount();
+
+        //when
+        final List<CachedDeployment> deployments;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final List<Future<CachedDeployment>> futures = IntStream.range(0, 16)
+                    .mapToObj(i -> executor.submit(() -> cache.deployFromClasspath(RESOURCE)))
+                    .toList();
+            deployments = futures.stream().map(DeploymentCacheTest::get).toList();
+        }
+
+        //then
+        assertThat(deployments.stream().distinct().count()).isEqualTo(1L);
+        assertThat(stub.server().requestCount() - requestsBefore).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldReusePersistedDeploymentWhileClusterKnowsIt() {
+        //given
+        final Path store = tempDir.resolve("deployments.properties");
+        final CachedDeployment deployed = new DeploymentCache(stub.client(), namespace(), store)
+                .deployFromClasspath(RESOURCE);
+        final long requestsBefore = stub.server().requestCount();
+
+        //when
+        final CachedDeployment reused = new DeploymentCache(stub.client(), namespace(), store)
+                .deployFromClasspath(RESOURCE);
+
+        //then
+        assertThat(reused).isEqualTo(deployed);
+        // only the check that the process definition still exists
+        assertThat(stub.server().requestCount() - requestsBefore).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldDeployAgainWhenPersistedDefinitionIsGone() throws Exception {
+        //given a store written before the cluster was reset
+        final Path store = tempDir.resolve("deployments.properties");
+        final String cacheKey = namespace() + '|' + RESOURCE + '|' + sha256(RESOURCE);
+        final Properties properties = new Properties();
+        properties.setProperty(cacheKey, "demoProcess,3,42");
+        try (OutputStream out = Files.newOutputStream(store)) {
+            properties.store(out, null);
+        }
+
+        //when
+        final CachedDeployment deployment = new DeploymentCache(stub.client(), namespace(), store)
+                .deployFromClasspath(RESOURCE);
+
+        //then
+        assertThat(deployment.processDefinitionKey()).isNotEqualTo(42L);
+        final Properties persisted = new Properties();
+        try (InputStream in = Files.newInputStream(store)) {
+            persisted.load(in);
+        }
+        assertThat(persisted.getProperty(cacheKey)).isEqualTo(
+                "demoProcess," + deployment.version() + ',' + deployment.processDefinitionKey());
+    }
+
+    private String namespace() {
+        return stub.server().restAddress().toString();
+    }
+
+    private static CachedDeployment get(Future<CachedDeployment> future) {
+        try {
+            return future.get();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String sha256(String resourceName) throws Exception {
+        try (InputStream in = DeploymentCacheTest.class.getClassLoader().getResourceAsStream(resourceName)) {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(in.readAllBytes()));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package TEST;
+
+import com.example.camunda.client.GzipCompressionHandler;
+import com.example.camunda.orchestration.OrchestrationFlow;
+import io.camunda.client.api.search.response.UserTask;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GzipCompressionHandlerTest {
+
+    private final GzipCompressionHandler compression = GzipCompressionHandler.withRequestCompression(4096);
+
+    @RegisterExtension
+    final StubServerExtension stub = new StubServerExtension()
+            .withClient(builder -> builder.withChainHandlers(compression));
+
+    @Test
+    void shouldCompressLargeCreateRequests() {
+        //given
+        final Map<String, Object> variables = Map.of("document", "lorem ipsum ".repeat(2000));
+
+        //when
+        stub.client().newCreateInstanceCommand()
+                .bpmnProcessId(OrchestrationFlow.PROCESS_ID)
+                .latestVersion()
+                .variables(variables)
+                .send()
+                .join();
+        stub.createInstance();
+
+        //then
+        assertThat(stub.server().processInstanceCount()).isEqualTo(2);
+        assertThat(compression.metrics().requestsCompressed()).isEqualTo(1);
+        assertThat(compression.metrics().bytesSaved()).isGreaterThan(10_000);
+    }
+
+    @Test
+    void shouldDecompressLargeSearchResponses() {
+        //given
+        for (int i = 0; i < 30; i++) {
+            stub.createInstance();
+        }
+
+        //when
+        final List<UserTask> tasks = stub.client().newUserTaskSearchRequest()
+                .filter(filter -> filter.elementId(OrchestrationFlow.USER_TASK_ID))
+                .send()
+                .join()
+                .items();
+
+        //then
+        assertThat(tasks).hasSize(30);
+        assertThat(compression.metrics().responsesDecompressed()).isEqualTo(1);
+        assertThat(compression.metrics().bytesSaved()).isGreaterThan(0);
+    }
+}
@@ -0,0 +1,88 @@
+package TEST;
+
+import io.camunda.client.CamundaClient;
+import io.camunda.client.api.response.DeploymentEvent;
+import io.camunda.client.api.response.ProcessInstanceEvent;
+import io.camunda.process.test.api.assertions.UserTaskSelector;
+import io.camunda.process.test.api.assertions.UserTaskSelectors;
+import io.camunda.zeebe.model.bpmn.Bpmn;
+import io.camunda.zeebe.model.bpmn.BpmnModelInstance;
+import io.camunda.zeebe.model.bpmn.instance.Process;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A classpath process deployed under a process id of its own, so tests running concurrently against a
+ * shared engine never start, find or complete each other's instances. Instances are started by process
+ * definition key rather than by the latest version of a shared process id.
+ */
+final class IsolatedProcess {
+
+    private final CamundaClient client;
+    private final String processId;
+    private final long processDefinitionKey;
+
+    private IsolatedProcess(CamundaClient client, String processId, long processDefinitionKey) {
+        this.client = client;
+        this.processId = processId;
+        this.processDefinitionKey = processDefinitionKey;
+    }
+
+    /**
+     * Deploys {@code resource} with the process {@code processId} renamed to a unique id.
+     */
+    static IsolatedProcess deploy(CamundaClient client, String resource, String processId) {
+        BpmnModelInstance model;
+        try (InputStream in = IsolatedProcess.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Resource not found on classpath: " + resource);
+            }
+            model = Bpmn.readModelFromStream(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Process process = model.getModelElementById(processId);
+        if (process == null) {
+            throw new IllegalArgumentException("No process " + processId + " in " + resource);
+        }
+        String isolatedId = processId + "_" + UUID.randomUUID().toString().replace("-", "");
+        process.setId(isolatedId);
+
+        DeploymentEvent deployment = client.newDeployResourceCommand()
+                .addProcessModel(model, isolatedId + ".bpmn")
+                .send()
+                .join();
+        return new IsolatedProcess(client, isolatedId, deployment.getProcesses().getFirst().getProcessDefinitionKey());
+    }
+
+    String processId() {
+        return processId;
+    }
+
+    ProcessInstanceEvent start() {
+        return client.newCreateInstanceCommand()
+                .processDefinitionKey(processDefinitionKey)
+                .send()
+                .join();
+    }
+
+    ProcessInstanceEvent start(Map<String, Object> variables) {
+        return client.newCreateInstanceCommand()
+                .processDefinitionKey(processDefinitionKey)
+                .variables(variables)
+                .send()
+                .join();
+    }
+
+    /**
+     * Selects the user task with the given element id of one instance only.
+     */
+    static UserTaskSelector userTask(String elementId, ProcessInstanceEvent processInstance) {
+        return UserTaskSelectors.byElementId(elementId, processInstance.getProcessInstanceKey());
+    }
+}
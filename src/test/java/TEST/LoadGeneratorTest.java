@@ -0,0 +1,71 @@
+package TEST;
+
+import com.example.camunda.load.LoadGenerator;
+import com.example.camunda.load.LoadOptions;
+import com.example.camunda.load.LoadReport;
+import com.example.camunda.metrics.Step;
+import com.example.camunda.orchestration.OrchestrationFlow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LoadGeneratorTest {
+
+    @RegisterExtension
+    final StubServerExtension stub = new StubServerExtension();
+
+    @Test
+    void shouldCountOnlyOrchestrationsScheduledInTheMeasurementWindow() throws InterruptedException {
+        //given 20 per second for one second after a warm-up of half a second
+        final LoadOptions options = LoadOptions.parse(new String[]{
+                "--rest=" + stub.server().restAddress(), "--model=open", "--rate=20",
+                "--ramp-up=0s", "--warm-up=500ms", "--duration=1s"});
+        final OrchestrationFlow flow = OrchestrationFlow.builder(stub.client()).build();
+
+        //when
+        final LoadReport report = new LoadGenerator(options, flow).run();
+
+        //then
+        assertThat(report.completed()).isEqualTo(20L);
+        assertThat(report.failed()).isEqualTo(0L);
+        assertThat(report.measured()).isEqualTo(Duration.ofSeconds(1));
+        assertThat(report.steps().get(Step.END_TO_END).count()).isEqualTo(20L);
+        assertThat(stub.server().processInstanceCount()).isEqualTo(30);
+    }
+
+    @Test
+    void shouldRampUpArrivalRateLinearly() throws InterruptedException {
+        //given a ramp to 20 per second over the one second warm-up, so half a second's worth of arrivals
+        final LoadOptions options = LoadOptions.parse(new String[]{
+                "--rest=" + stub.server().restAddress(), "--model=open", "--rate=20",
+                "--ramp-up=1s", "--warm-up=1s", "--duration=500ms"});
+        final OrchestrationFlow flow = OrchestrationFlow.builder(stub.client()).build();
+
+        //when
+        final LoadReport report = new LoadGenerator(options, flow).run();
+
+        //then
+        assertThat(report.completed()).isEqualTo(10L);
+        assertThat(stub.server().processInstanceCount()).isEqualTo(20);
+    }
+
+    @Test
+    void shouldKeepConcurrencyInClosedModel() throws InterruptedException {
+        //given
+        final LoadOptions options = LoadOptions.parse(new String[]{
+                "--rest=" + stub.server().restAddress(), "--model=closed", "--concurrency=4",
+                "--ramp-up=0s", "--warm-up=0s", "--duration=1s"});
+        final OrchestrationFlow flow = OrchestrationFlow.builder(stub.client()).build();
+
+        //when
+        final LoadReport report = new LoadGenerator(options, flow).run();
+
+        //then
+        assertThat(report.completed()).isGreaterThan(0L);
+        assertThat(report.failed()).isEqualTo(0L);
+        assertThat(report.measured()).isEqualTo(Duration.ofSeconds(1));
+    }
+}
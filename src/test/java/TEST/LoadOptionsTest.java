@@ -0,0 +1,52 @@
+package TEST;
+
+import com.example.camunda.client.ClientProfile;
+import com.example.camunda.load.LoadOptions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LoadOptionsTest {
+
+    @Test
+    void shouldParseOptions() {
+        //when
+        final LoadOptions options = LoadOptions.parse(new String[]{
+                "--model=open", "--rate=250", "--warm-up=500ms", "--duration=2m", "--profile=low-latency", "--stub"});
+
+        //then
+        assertThat(options.model()).isEqualTo(LoadOptions.Model.OPEN);
+        assertThat(options.rate()).isEqualTo(250.0);
+        assertThat(options.warmUp()).isEqualTo(Duration.ofMillis(500));
+        assertThat(options.duration()).isEqualTo(Duration.ofMinutes(2));
+        assertThat(options.profile()).isEqualTo(ClientProfile.LOW_LATENCY);
+        assertThat(options.stub()).isTrue();
+    }
+
+    @Test
+    void shouldParseNamesIndependentOfDefaultLocale() {
+        //given
+        final Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            //when
+            final LoadOptions options = LoadOptions.parse(new String[]{"--profile=high-throughput"});
+
+            //then
+            assertThat(options.profile()).isEqualTo(ClientProfile.HIGH_THROUGHPUT);
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void shouldRejectGrpcWithStub() {
+        //when / then
+        assertThatThrownBy(() -> LoadOptions.parse(new String[]{"--stub", "--grpc=http://localhost:26500"}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,26 @@
+package TEST;
+
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@link SharedCamundaProcessTest} class or method that moves engine time, e.g. with
+ * {@link TestClock}.
+ *
+ * <p>The engine clock is shared by every instance in the runtime and reset after each test, so these tests
+ * hold the shared runtime lock in {@code READ_WRITE} mode and run while no other shared runtime test does.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@ResourceLock(value = SharedCamundaRuntimeExtension.RUNTIME, mode = ResourceAccessMode.READ_WRITE)
+public @interface MovesEngineClock {
+}
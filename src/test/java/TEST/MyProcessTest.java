@@ -1,71 +1,49 @@
 package TEST;
 
 import io.camunda.client.CamundaClient;
-import io.camunda.client.api.response.AssignUserTaskResponse;
 import io.camunda.client.api.response.ProcessInstanceEvent;
-import io.camunda.client.api.search.response.SearchResponse;
-import io.camunda.client.api.search.response.UserTask;
 import io.camunda.process.test.api.CamundaAssert;
-import io.camunda.process.test.api.CamundaProcessTest;
 import io.camunda.process.test.api.CamundaProcessTestContext;
-import io.camunda.process.test.api.assertions.UserTaskSelectors;
 import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.RepeatedTest;
 import org.junit.jupiter.api.Test;
 
 
-@CamundaProcessTest
+@SharedCamundaProcessTest
 public class MyProcessTest {
 
     private CamundaClient client;
     private CamundaProcessTestContext processTestContext;
+    private IsolatedProcess demoProcess;
 
     @BeforeEach
             void deployProcessDefinition() {
-        client
-                .newDeployResourceCommand()
-                .addResourceFromClasspath("demoProcess.bpmn")
-                .send()
-                .join();
+        demoProcess = IsolatedProcess.deploy(client, "demoProcess.bpmn", "demoProcess");
     }
 
     @Test
     void shouldStartProcessInstance() {
         //when
-        final ProcessInstanceEvent processInstance =
-                client
-                        .newCreateInstanceCommand()
-                        .bpmnProcessId("demoProcess")
-                        .latestVersion()
-                        .send()
-                        .join();
+        final ProcessInstanceEvent processInstance = demoProcess.start();
 
         //then
         CamundaAssert.assertThat(processInstance).isActive();
         CamundaAssert.assertThat(processInstance).hasActiveElement("userTask_1",1);
     }
 
-    @Disabled
-    @Test
-    void shouldFinishProcessInstance() throws InterruptedException {
+    // repeated so that its runs overlap each other and the other shared-runtime tests
+    @RepeatedTest(10)
+    void shouldFinishProcessInstance() {
 
         //when
-        final ProcessInstanceEvent processInstance =
-                client
-                        .newCreateInstanceCommand()
-                        .bpmnProcessId("demoProcess")
-                        .latestVersion()
-                        .send()
-                        .join();
-
-        long processInstanceKey = processInstance.getProcessInstanceKey();
+        final ProcessInstanceEvent processInstance = demoProcess.start();
 
         //then
-        CamundaAssert.assertThatUserTask(UserTaskSelectors.byElementId("userTask_1",processInstanceKey)).isCreated();
+        CamundaAssert.assertThatUserTask(IsolatedProcess.userTask("userTask_1",processInstance)).isCreated();
 
 
         //when
-        processTestContext.completeUserTask(UserTaskSelectors.byElementId("userTask_1"));
+        UserTasks.completeAndAwait(client, "userTask_1", processInstance);
 
         //then
         CamundaAssert.assertThat(processInstance).isCompleted();
@@ -0,0 +1,58 @@
+package TEST;
+
+import com.example.camunda.await.Awaiter;
+import com.example.camunda.orchestration.OrchestrationFlow;
+import com.example.camunda.orchestration.OrchestrationResult;
+import com.example.camunda.search.CursorPager;
+import io.camunda.client.api.search.enums.ProcessInstanceState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OrchestrationFlowTest {
+
+    @RegisterExtension
+    final StubServerExtension stub = new StubServerExtension(Duration.ofMillis(50));
+
+    @Test
+    void shouldCompleteProcessInstance() throws InterruptedException {
+        //given
+        final OrchestrationFlow flow = new OrchestrationFlow(
+                stub.client(), Awaiter.withDefaults(), Duration.ofSeconds(5), Duration.ofSeconds(5));
+
+        //when
+        final OrchestrationResult result = flow.run();
+
+        //then
+        assertThat(result.finalState()).isEqualTo(ProcessInstanceState.COMPLETED);
+        assertThat(stub.server().processInstanceCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldPageThroughAllUserTasks() throws InterruptedException {
+        //given
+        for (int i = 0; i < 25; i++) {
+            stub.createInstance();
+        }
+        Awaiter.withDefaults().await("25 user tasks searchable", () -> {
+            final int visible = stub.client().newUserTaskSearchRequest()
+                    .filter(filter -> filter.elementId(OrchestrationFlow.USER_TASK_ID))
+                    .send()
+                    .join()
+                    .items()
+                    .size();
+            return visible == 25 ? Optional.of(visible) : Optional.empty();
+        }, Duration.ofSeconds(5));
+
+        //when
+        final long tasks = CursorPager.userTasks(stub.client(),
+                filter -> filter.elementId(OrchestrationFlow.USER_TASK_ID), 10).count();
+
+        //then
+        assertThat(tasks).isEqualTo(25L);
+    }
+}
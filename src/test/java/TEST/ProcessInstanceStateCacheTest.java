@@ -0,0 +1,113 @@
+package TEST;
+
+import com.example.camunda.search.ProcessInstanceStateCache;
+import io.camunda.client.api.search.enums.ProcessInstanceState;
+import io.camunda.client.api.search.response.UserTask;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ProcessInstanceStateCacheTest {
+
+    @RegisterExtension
+    final StubServerExtension stub = new StubServerExtension();
+
+    @Test
+    void shouldOnlyRefreshInstancesThatCanStillChange() {
+        //given
+        final long first = stub.createInstance();
+        final long second = stub.createInstance();
+        final ProcessInstanceStateCache cache =
+                new ProcessInstanceStateCache(stub.client(), 10, Duration.ofMinutes(1), 100);
+        final CompletableFuture<ProcessInstanceState> firstTerminal = cache.whenTerminal(first);
+        cache.track(second);
+        cache.refresh();
+        assertThat(cache.state(first)).contains(ProcessInstanceState.ACTIVE);
+
+        //when
+        completeUserTaskOf(first);
+        cache.refresh();
+        final long requestsBefore = stub.server().requestCount();
+        cache.refresh();
+
+        //then
+        assertThat(firstTerminal.join()).isEqualTo(ProcessInstanceState.COMPLETED);
+        assertThat(cache.state(second)).contains(ProcessInstanceState.ACTIVE);
+        assertThat(stub.server().requestCount() - requestsBefore).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedEntryThatNobodyAwaits() {
+        //given
+        final long awaited = stub.createInstance();
+        final long leastRecentlyUsed = stub.createInstance();
+        final ProcessInstanceStateCache cache =
+                new ProcessInstanceStateCache(stub.client(), 10, Duration.ofMinutes(1), 2);
+        final CompletableFuture<ProcessInstanceState> terminal = cache.whenTerminal(awaited);
+        cache.track(leastRecentlyUsed);
+        cache.refresh();
+
+        //when
+        cache.track(stub.createInstance());
+
+        //then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.state(leastRecentlyUsed)).isEmpty();
+        assertThat(cache.state(awaited)).contains(ProcessInstanceState.ACTIVE);
+        assertThat(terminal.isDone()).isFalse();
+    }
+
+    @Test
+    void shouldNotReorderEntriesOnRefresh() {
+        //given the lower key used last, while the search returns the lower key first
+        final long lower = stub.createInstance();
+        final long higher = stub.createInstance();
+        final ProcessInstanceStateCache cache =
+                new ProcessInstanceStateCache(stub.client(), 10, Duration.ofMinutes(1), 2);
+        cache.track(higher);
+        cache.track(lower);
+        cache.refresh();
+
+        //when
+        cache.track(stub.createInstance());
+
+        //then
+        assertThat(cache.state(higher)).isEmpty();
+        assertThat(cache.state(lower)).contains(ProcessInstanceState.ACTIVE);
+    }
+
+    @Test
+    void shouldKeepAwaitedEntryPastTtl() throws InterruptedException {
+        //given
+        final long awaited = stub.createInstance();
+        final long idle = stub.createInstance();
+        final ProcessInstanceStateCache cache =
+                new ProcessInstanceStateCache(stub.client(), 10, Duration.ofMillis(50), 100);
+        final CompletableFuture<ProcessInstanceState> terminal = cache.whenTerminal(awaited);
+        cache.track(idle);
+        Thread.sleep(100);
+
+        //when
+        cache.refresh();
+        completeUserTaskOf(awaited);
+        cache.refresh();
+
+        //then
+        assertThat(terminal.join()).isEqualTo(ProcessInstanceState.COMPLETED);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    private void completeUserTaskOf(long processInstanceKey) {
+        final UserTask task = stub.client().newUserTaskSearchRequest()
+                .filter(filter -> filter.processInstanceKey(processInstanceKey))
+                .send()
+                .join()
+                .items()
+                .getFirst();
+        stub.client().newCompleteUserTaskCommand(task.getUserTaskKey()).send().join();
+    }
+}
@@ -0,0 +1,110 @@
+package TEST;
+
+import com.example.camunda.await.Backoff;
+import com.example.camunda.client.ClientErrors;
+import com.example.camunda.retry.RetryBudget;
+import com.example.camunda.retry.RetryPolicy;
+import io.camunda.client.api.command.ProblemException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RetryPolicyTest {
+
+    private static final Backoff FAST = Backoff.exponential(Duration.ofMillis(1), Duration.ofMillis(5));
+
+    @RegisterExtension
+    final StubServerExtension stub = new StubServerExtension();
+
+    @Test
+    void shouldRetryTransientFailures() throws InterruptedException {
+        //given
+        final RetryPolicy policy = new RetryPolicy(5, FAST, new RetryBudget(0.2, 10));
+        final AtomicInteger attempts = new AtomicInteger();
+
+        //when
+        final String result = policy.call("flaky command", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new CompletionException(new TimeoutException());
+            }
+            return "done";
+        });
+
+        //then
+        assertThat(result).isEqualTo("done");
+        assertThat(attempts.get()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldNotRetryRejectedCommands() {
+        //given
+        final RetryPolicy policy = new RetryPolicy(5, FAST, new RetryBudget(0.2, 10));
+        final AtomicInteger attempts = new AtomicInteger();
+
+        //when / then
+        assertThatThrownBy(() -> policy.call("rejected command", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("rejected");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldStopRetryingWhenBudgetIsExhausted() throws InterruptedException {
+        //given
+        final RetryPolicy policy = new RetryPolicy(5, FAST, new RetryBudget(0.0, 1));
+        final AtomicInteger attempts = new AtomicInteger();
+        policy.call("first command", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new CompletionException(new TimeoutException());
+            }
+            return "done";
+        });
+        attempts.set(0);
+
+        //when / then
+        assertThatThrownBy(() -> policy.call("second command", () -> {
+            attempts.incrementAndGet();
+            throw new CompletionException(new TimeoutException());
+        })).hasRootCauseInstanceOf(TimeoutException.class);
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldTreatRetriedCompletionOfCompletedTaskAsSuccess() throws InterruptedException {
+        //given
+        final long processInstanceKey = stub.createInstance();
+        final long userTaskKey = stub.client().newUserTaskSearchRequest()
+                .filter(filter -> filter.processInstanceKey(processInstanceKey))
+                .send()
+                .join()
+                .items()
+                .getFirst()
+                .getUserTaskKey();
+        final RetryPolicy policy = new RetryPolicy(5, FAST, new RetryBudget(0.2, 10));
+        final AtomicInteger attempts = new AtomicInteger();
+
+        //when
+        policy.call("complete user task " + userTaskKey, () -> {
+            final int attempt = attempts.incrementAndGet();
+            stub.client().newCompleteUserTaskCommand(userTaskKey).send().join();
+            if (attempt == 1) {
+                // the task was completed, but the response got lost
+                throw new CompletionException(new TimeoutException());
+            }
+            return null;
+        }, ClientErrors::isNotFound);
+
+        //then
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThatThrownBy(() -> stub.client().newCompleteUserTaskCommand(userTaskKey).send().join())
+                .isInstanceOf(ProblemException.class);
+    }
+}
@@ -0,0 +1,29 @@
+package TEST;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Like {@code @CamundaProcessTest}, but all annotated test classes share one test runtime per JVM.
+ *
+ * <p>Annotated classes hold the shared runtime lock in {@code READ} mode, so they run concurrently with
+ * each other but not with a test that takes it in {@code READ_WRITE} mode to change engine-wide state.
+ *
+ * @see SharedCamundaRuntimeExtension
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@ExtendWith(SharedCamundaRuntimeExtension.class)
+@ResourceLock(value = SharedCamundaRuntimeExtension.RUNTIME, mode = ResourceAccessMode.READ)
+public @interface SharedCamundaProcessTest {
+}
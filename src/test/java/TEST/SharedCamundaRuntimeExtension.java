@@ -0,0 +1,99 @@
+package TEST;
+
+import io.camunda.process.test.api.CamundaAssert;
+import io.camunda.process.test.api.CamundaProcessTestExtension;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.time.Duration;
+
+/**
+ * Runs the Camunda process test runtime once per JVM instead of once per test class.
+ *
+ * <p>A single {@link CamundaProcessTestExtension} is started against the root extension context, so its
+ * runtime lives in the root store where every test's context finds it, and is stopped when JUnit closes
+ * the root store after the last test. Per-test callbacks are delegated, so fields of type
+ * {@code CamundaClient} and {@code CamundaProcessTestContext} are injected as with
+ * {@code @CamundaProcessTest}. Test classes share the engine and must not assume they are alone in it.
+ *
+ * <p>Tests run concurrently, but the delegated extension keeps per-test state for one test at a time, so
+ * its callbacks are serialized, and what they reset is shared by every running test:
+ * <ul>
+ *     <li>field injection hands every test the same client and context, which is safe;</li>
+ *     <li>the engine clock is reset after each test, which is safe only because tests that move it hold
+ *     the {@link #RUNTIME} lock in {@code READ_WRITE} mode and all others in {@code READ} mode, so a moved
+ *     clock is never seen, or reset, by another test;</li>
+ *     <li>clients from {@code CamundaProcessTestContext.createClient()} are closed after whichever test
+ *     ends next, so tests must use the injected client instead.</li>
+ * </ul>
+ *
+ * <p>Assertions poll the search API every {@link #ASSERTION_INTERVAL} rather than the default 100 ms, so
+ * they return within a few milliseconds of the data being exported. The interval is a JVM-wide setting, so
+ * it is set once when the shared runtime starts and the default is restored when the runtime is closed.
+ */
+public class SharedCamundaRuntimeExtension implements BeforeAllCallback, BeforeEachCallback, AfterEachCallback {
+
+    /**
+     * Lock key of the shared runtime; see {@link SharedCamundaProcessTest}.
+     */
+    static final String RUNTIME = "camunda-shared-runtime";
+
+    static final Duration ASSERTION_INTERVAL = Duration.ofMillis(10);
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(SharedCamundaRuntimeExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        runtime(context);
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) throws Exception {
+        SharedRuntime runtime = runtime(context);
+        synchronized (runtime) {
+            runtime.extension.beforeEach(context);
+        }
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) throws Exception {
+        SharedRuntime runtime = runtime(context);
+        synchronized (runtime) {
+            runtime.extension.afterEach(context);
+        }
+    }
+
+    private static SharedRuntime runtime(ExtensionContext context) {
+        ExtensionContext root = context.getRoot();
+        return root.getStore(NAMESPACE).getOrComputeIfAbsent(SharedRuntime.class, key -> new SharedRuntime(root),
+                SharedRuntime.class);
+    }
+
+    private static final class SharedRuntime implements ExtensionContext.Store.CloseableResource {
+
+        private final CamundaProcessTestExtension extension = new CamundaProcessTestExtension();
+        private final ExtensionContext root;
+
+        private SharedRuntime(ExtensionContext root) {
+            this.root = root;
+            try {
+                extension.beforeAll(root);
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to start the shared Camunda test runtime", e);
+            }
+            CamundaAssert.setAssertionInterval(ASSERTION_INTERVAL);
+        }
+
+        @Override
+        public void close() throws Exception {
+            try {
+                extension.afterAll(root);
+            } finally {
+                CamundaAssert.setAssertionInterval(CamundaAssert.DEFAULT_ASSERTION_INTERVAL);
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package TEST;
+
+import com.example.camunda.search.SingleFlight;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SingleFlightTest {
+
+    private final SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    void shouldShareInFlightCall() {
+        //given
+        final AtomicInteger calls = new AtomicInteger();
+        final CompletableFuture<String> response = new CompletableFuture<>();
+
+        //when
+        final CompletableFuture<String> first = singleFlight.execute(1L, () -> {
+            calls.incrementAndGet();
+            return response;
+        });
+        final CompletableFuture<String> second = singleFlight.execute(1L, () -> {
+            calls.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        response.complete("tasks");
+
+        //then
+        assertThat(calls).hasValue(1);
+        assertThat(first.join()).isEqualTo("tasks");
+        assertThat(second.join()).isEqualTo("tasks");
+        assertThat(singleFlight.inFlight()).isEqualTo(0);
+    }
+
+    @Test
+    void shouldStartNewCallAfterCompletion() {
+        //given
+        final AtomicInteger calls = new AtomicInteger();
+        singleFlight.execute(1L, () -> CompletableFuture.completedFuture("first " + calls.incrementAndGet())).join();
+
+        //when
+        final String result =
+                singleFlight.execute(1L, () -> CompletableFuture.completedFuture("second " + calls.incrementAndGet())).join();
+
+        //then
+        assertThat(result).isEqualTo("second 2");
+    }
+
+    @Test
+    void shouldNotLetOneCallerCancelTheSharedResult() {
+        //given
+        final CompletableFuture<String> response = new CompletableFuture<>();
+        final CompletableFuture<String> first = singleFlight.execute(1L, () -> response);
+        final CompletableFuture<String> second = singleFlight.execute(1L, CompletableFuture::new);
+
+        //when
+        first.cancel(false);
+        response.complete("tasks");
+
+        //then
+        assertThat(first.isCancelled()).isTrue();
+        assertThat(second.join()).isEqualTo("tasks");
+        assertThat(singleFlight.execute(1L, () -> CompletableFuture.completedFuture("next")).join()).isEqualTo("next");
+    }
+}
@@ -0,0 +1,68 @@
+package TEST;
+
+import com.example.camunda.metrics.Step;
+import com.example.camunda.metrics.StepMetrics;
+import com.example.camunda.metrics.StepStats;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StepMetricsTest {
+
+    @Test
+    void shouldSummarizeRecordedLatencies() {
+        //given
+        try (StepMetrics metrics = new StepMetrics()) {
+            for (int i = 1; i <= 1000; i++) {
+                metrics.recordNanos(Step.CREATE_INSTANCE, TimeUnit.MILLISECONDS.toNanos(i));
+            }
+
+            //when
+            final Map<Step, StepStats> snapshot = metrics.snapshot();
+
+            //then
+            final StepStats create = snapshot.get(Step.CREATE_INSTANCE);
+            assertThat(create.count()).isEqualTo(1000L);
+            assertThat(create.p50()).isBetween(495_000L, 505_000L);
+            assertThat(create.p99()).isBetween(985_000L, 995_000L);
+            assertThat(create.max()).isBetween(999_000L, 1_001_000L);
+            assertThat(snapshot.get(Step.ASSIGN).count()).isEqualTo(0L);
+        }
+    }
+
+    @Test
+    void shouldKeepValuesAcrossSnapshots() {
+        //given
+        try (StepMetrics metrics = new StepMetrics()) {
+            metrics.recordNanos(Step.COMPLETE, 1_000_000);
+            metrics.snapshot();
+
+            //when
+            metrics.recordNanos(Step.COMPLETE, 2_000_000);
+
+            //then
+            assertThat(metrics.snapshot().get(Step.COMPLETE).count()).isEqualTo(2L);
+            assertThat(metrics.histogram(Step.COMPLETE).getTotalCount()).isEqualTo(2L);
+        }
+    }
+
+    @Test
+    void shouldMeasureCorrectedLatencyFromIntendedStart() {
+        //given
+        try (StepMetrics metrics = new StepMetrics()) {
+            final long intendedStart = 0;
+            final long actualStart = TimeUnit.MILLISECONDS.toNanos(40);
+            final long end = TimeUnit.MILLISECONDS.toNanos(50);
+
+            //when
+            metrics.recordScheduled(Step.CREATE_INSTANCE, intendedStart, actualStart, end);
+
+            //then
+            assertThat(metrics.snapshot().get(Step.CREATE_INSTANCE).max()).isBetween(9_990L, 10_010L);
+            assertThat(metrics.correctedSnapshot().get(Step.CREATE_INSTANCE).max()).isBetween(49_950L, 50_050L);
+        }
+    }
+}
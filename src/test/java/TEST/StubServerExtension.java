@@ -0,0 +1,95 @@
+package TEST;
+
+import com.example.camunda.deploy.DeploymentCache;
+import com.example.camunda.orchestration.OrchestrationFlow;
+import com.example.camunda.stub.CamundaStubServer;
+import io.camunda.client.CamundaClient;
+import io.camunda.client.CamundaClientBuilder;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.function.UnaryOperator;
+
+/**
+ * A {@link CamundaStubServer} with a REST client and demoProcess deployed, for one test.
+ *
+ * <p>Register as an instance field with {@code @RegisterExtension}. The server is started on first use of
+ * {@link #server()} or {@link #client()}, so tests that do not need it pay nothing, and is stopped after
+ * each test.
+ */
+public class StubServerExtension implements AfterEachCallback {
+
+    private final Duration exportDelay;
+    private UnaryOperator<CamundaClientBuilder> clientCustomizer = UnaryOperator.identity();
+    private CamundaStubServer server;
+    private CamundaClient client;
+
+    public StubServerExtension() {
+        this(Duration.ZERO);
+    }
+
+    /**
+     * @param exportDelay how long created entities and state changes take to become searchable
+     */
+    public StubServerExtension(Duration exportDelay) {
+        this.exportDelay = exportDelay;
+    }
+
+    /**
+     * Applies further settings, e.g. chain handlers, to the client builder.
+     */
+    public StubServerExtension withClient(UnaryOperator<CamundaClientBuilder> clientCustomizer) {
+        this.clientCustomizer = clientCustomizer;
+        return this;
+    }
+
+    public CamundaStubServer server() {
+        start();
+        return server;
+    }
+
+    public CamundaClient client() {
+        start();
+        return client;
+    }
+
+    public long createInstance() {
+        return client().newCreateInstanceCommand()
+                .bpmnProcessId(OrchestrationFlow.PROCESS_ID)
+                .latestVersion()
+                .send()
+                .join()
+                .getProcessInstanceKey();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        if (client != null) {
+            client.close();
+            client = null;
+        }
+        if (server != null) {
+            server.close();
+            server = null;
+        }
+    }
+
+    private void start() {
+        if (server != null) {
+            return;
+        }
+        try {
+            server = CamundaStubServer.start(exportDelay);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        client = clientCustomizer.apply(CamundaClient.newClientBuilder()
+                        .restAddress(server.restAddress())
+                        .preferRestOverGrpc(true))
+                .build();
+        new DeploymentCache(client, server.restAddress().toString()).deployFromClasspath("demoProcess.bpmn");
+    }
+}
@@ -0,0 +1,45 @@
+package TEST;
+
+import io.camunda.process.test.api.CamundaProcessTestContext;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Engine time of the process test runtime. Advancing it makes due timers fire immediately instead of
+ * after wall-clock time has passed.
+ *
+ * <p>The clock belongs to the engine, which test classes may share; tests that move it must be annotated
+ * with {@link MovesEngineClock} so no other test runs while engine time is moved.
+ */
+final class TestClock {
+
+    private final CamundaProcessTestContext context;
+
+    TestClock(CamundaProcessTestContext context) {
+        this.context = context;
+    }
+
+    Instant now() {
+        return context.getCurrentTime();
+    }
+
+    /**
+     * Moves engine time forward by {@code duration} and returns the new time.
+     */
+    Instant advance(Duration duration) {
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException("The engine clock cannot go backwards: " + duration);
+        }
+        context.increaseTime(duration);
+        return now();
+    }
+
+    /**
+     * Moves engine time forward to {@code instant}, or leaves it unchanged if it is already later.
+     */
+    Instant advanceTo(Instant instant) {
+        Instant now = now();
+        return instant.isAfter(now) ? advance(Duration.between(now, instant)) : now;
+    }
+}
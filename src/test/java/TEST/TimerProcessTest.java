@@ -0,0 +1,53 @@
+package TEST;
+
+import io.camunda.client.CamundaClient;
+import io.camunda.client.api.response.ProcessInstanceEvent;
+import io.camunda.process.test.api.CamundaAssert;
+import io.camunda.process.test.api.CamundaProcessTestContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+@SharedCamundaProcessTest
+@MovesEngineClock
+public class TimerProcessTest {
+
+    private CamundaClient client;
+    private CamundaProcessTestContext processTestContext;
+    private IsolatedProcess process;
+    private TestClock clock;
+
+    @BeforeEach
+    void deployProcessDefinition() {
+        process = IsolatedProcess.deploy(client, "demoProcessWithEscalation.bpmn", "demoProcessWithEscalation");
+        clock = new TestClock(processTestContext);
+    }
+
+    @Test
+    void shouldSendReminderAfterOneHour() {
+        //given
+        final ProcessInstanceEvent processInstance = process.start();
+        CamundaAssert.assertThat(processInstance).hasActiveElements("userTask_1");
+
+        //when
+        clock.advance(Duration.ofHours(1));
+
+        //then
+        CamundaAssert.assertThat(processInstance).hasCompletedElements("reminderSent");
+        CamundaAssert.assertThat(processInstance).isActive().hasActiveElements("userTask_1");
+    }
+
+    @Test
+    void shouldEscalateAfterOneDay() {
+        //given
+        final ProcessInstanceEvent processInstance = process.start();
+        CamundaAssert.assertThat(processInstance).hasActiveElements("userTask_1");
+
+        //when
+        clock.advance(Duration.ofDays(1));
+
+        //then
+        CamundaAssert.assertThat(processInstance).isCompleted().hasCompletedElements("escalated");
+    }
+}
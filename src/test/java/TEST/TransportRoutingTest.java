@@ -0,0 +1,36 @@
+package TEST;
+
+import com.example.camunda.client.Transport;
+import com.example.camunda.client.TransportRouting;
+import com.example.camunda.client.TransportRouting.Operation;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TransportRoutingTest {
+
+    @Test
+    void shouldRouteCommandsOverGrpcAndQueriesOverRest() {
+        //when
+        final TransportRouting routing = TransportRouting.commandsOverGrpc();
+
+        //then
+        assertThat(routing.transport(Operation.CREATE_INSTANCE)).isEqualTo(Optional.of(Transport.GRPC));
+        assertThat(routing.transport(Operation.COMPLETE_USER_TASK)).isEqualTo(Optional.of(Transport.REST));
+        assertThat(routing.transport(Operation.SEARCH_USER_TASKS)).isEqualTo(Optional.of(Transport.REST));
+    }
+
+    @Test
+    void shouldRejectGrpcForRestOnlyOperations() {
+        //given
+        final TransportRouting routing = TransportRouting.clientDefault();
+
+        //when / then
+        assertThatThrownBy(() -> routing.with(Operation.ASSIGN_USER_TASK, Transport.GRPC))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(routing.transport(Operation.ASSIGN_USER_TASK)).isEqualTo(Optional.empty());
+    }
+}
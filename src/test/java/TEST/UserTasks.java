@@ -0,0 +1,35 @@
+package TEST;
+
+import io.camunda.client.CamundaClient;
+import io.camunda.client.api.response.ProcessInstanceEvent;
+import io.camunda.process.test.api.CamundaAssert;
+import io.camunda.process.test.api.assertions.UserTaskSelector;
+
+/**
+ * Synchronous user task actions for process tests.
+ */
+final class UserTasks {
+
+    private UserTasks() {
+    }
+
+    /**
+     * Completes the user task {@code elementId} of one instance and returns once its completion has been
+     * exported, so the next assertion or search already sees the task as completed. The complete command
+     * targets that task's key and is joined, so a rejection fails the test right away instead of being
+     * retried until the assertion times out.
+     */
+    static void completeAndAwait(CamundaClient client, String elementId, ProcessInstanceEvent processInstance) {
+        final UserTaskSelector selector = IsolatedProcess.userTask(elementId, processInstance);
+        CamundaAssert.assertThatUserTask(selector).isCreated();
+        final long userTaskKey = client.newUserTaskSearchRequest()
+                .filter(filter -> filter.processInstanceKey(processInstance.getProcessInstanceKey()).elementId(elementId))
+                .send()
+                .join()
+                .items()
+                .getFirst()
+                .getUserTaskKey();
+        client.newCompleteUserTaskCommand(userTaskKey).send().join();
+        CamundaAssert.assertThatUserTask(selector).isCompleted();
+    }
+}